@@ -0,0 +1,97 @@
+package com.tourapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tourapp.entity.Tour;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JSON (and CBOR, for the paginated list) serialization of the response bodies, with
+ * the same settings as application.properties (ISO dates, non-null inclusion).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TourSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private TourDTO.Response response;
+    private Page<TourDTO.Summary> page;
+    private PaginatedResponse<TourDTO.Summary> paginatedResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        cborMapper = new CBORMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        response = new TourDTO.Response(UUID.randomUUID(), "Amazing Paris Tour",
+                "Explore the beautiful city of Paris with our expert guides", "Paris, France",
+                new BigDecimal("999.99"), 7, 20, Tour.TourStatus.ACTIVE, "https://example.com/paris.jpg",
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+
+        List<TourDTO.Summary> summaries = IntStream.range(0, pageSize)
+                .mapToObj(i -> new TourDTO.Summary(UUID.randomUUID(), "Tour " + i, "City " + (i % 50),
+                        new BigDecimal("100.00").add(BigDecimal.valueOf(i)), 1 + i % 14, Tour.TourStatus.ACTIVE,
+                        "https://example.com/" + i + ".jpg"))
+                .toList();
+        page = new PageImpl<>(summaries, PageRequest.of(0, pageSize, Sort.by("createdAt").descending()), 100_000);
+        paginatedResponse = PaginatedResponse.from(page);
+    }
+
+    @Benchmark
+    public byte[] response() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] paginatedResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(paginatedResponse);
+    }
+
+    @Benchmark
+    public byte[] paginatedResponseCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(paginatedResponse);
+    }
+}
@@ -0,0 +1,59 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping used by every read endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TourMappingBenchmark {
+
+    private Tour tour;
+
+    @Setup
+    public void setUp() {
+        tour = new Tour();
+        tour.setId(UUID.randomUUID());
+        tour.setName("Amazing Paris Tour");
+        tour.setDescription("Explore the beautiful city of Paris with our expert guides");
+        tour.setDestination("Paris, France");
+        tour.setPrice(new BigDecimal("999.99"));
+        tour.setDurationDays(7);
+        tour.setMaxParticipants(20);
+        tour.setStatus(Tour.TourStatus.ACTIVE);
+        tour.setImageUrl("https://example.com/paris.jpg");
+        tour.setCreatedAt(LocalDateTime.now());
+        tour.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TourDTO.Response mapToResponse() {
+        return TourService.mapToResponse(tour);
+    }
+
+    @Benchmark
+    public TourDTO.Summary mapToSummary() {
+        return TourService.mapToSummary(tour);
+    }
+}
@@ -0,0 +1,111 @@
+package com.tourapp.service;
+
+import com.tourapp.TourApplication;
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TourService#searchTours} through the real repository against an in-memory
+ * H2 database seeded with {@code tourCount} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TourSearchBenchmark {
+
+    private static final int DESTINATIONS = 500;
+
+    @Param({"10000", "100000", "1000000"})
+    public int tourCount;
+
+    private ConfigurableApplicationContext context;
+    private TourService tourService;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TourApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh" + tourCount + ";DB_CLOSE_DELAY=-1",
+                        "tour.search.index.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.tourapp=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class), tourCount);
+
+        tourService = context.getBean(TourService.class);
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TourDTO.Summary> byName() {
+        return tourService.searchTours("Tour 4242", null, null, null, null, null, null, pageable);
+    }
+
+    @Benchmark
+    public Page<TourDTO.Summary> byDestination() {
+        return tourService.searchTours(null, "City 42", null, null, null, null, null, pageable);
+    }
+
+    @Benchmark
+    public Page<TourDTO.Summary> byPriceAndStatus() {
+        return tourService.searchTours(null, null, new BigDecimal("100"), new BigDecimal("150"),
+                null, null, Tour.TourStatus.ACTIVE, pageable);
+    }
+
+    // Set-based insert so seeding a million rows takes seconds rather than minutes
+    private static void seed(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO tours (id, name, description, destination, price, duration_days,
+                                   max_participants, status, image_url, created_at, updated_at, version)
+                SELECT RANDOM_UUID(),
+                       'Tour ' || X,
+                       'Benchmark tour number ' || X,
+                       'City ' || MOD(X, ?),
+                       10 + MOD(X * 7, 2000),
+                       1 + MOD(X, 14),
+                       1 + MOD(X, 100),
+                       CASE MOD(X, 10) WHEN 0 THEN 'INACTIVE' WHEN 1 THEN 'CANCELLED' ELSE 'ACTIVE' END,
+                       'https://example.com/' || X || '.jpg',
+                       DATEADD('SECOND', -X, CURRENT_TIMESTAMP),
+                       DATEADD('SECOND', -X, CURRENT_TIMESTAMP),
+                       0
+                FROM SYSTEM_RANGE(1, ?)
+                """, DESTINATIONS, count);
+    }
+}
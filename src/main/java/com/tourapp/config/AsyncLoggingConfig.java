@@ -0,0 +1,45 @@
+package com.tourapp.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Iterator;
+
+/**
+ * Queue depth of the async appenders declared in {@code logback-spring.xml}, so a backlog
+ * (and, with {@code never-block}, dropped events) shows up before the queue is full.
+ */
+@Configuration
+public class AsyncLoggingConfig {
+
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+            for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof AsyncAppender appender) {
+                    bind(registry, appender);
+                }
+            }
+        };
+    }
+
+    static void bind(MeterRegistry registry, AsyncAppender appender) {
+        Gauge.builder("tour.logging.async.queued", appender, AsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting to be written")
+                .tag("appender", appender.getName())
+                .register(registry);
+        Gauge.builder("tour.logging.async.remaining", appender, AsyncAppender::getRemainingCapacity)
+                .description("Free slots left in the async appender queue")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
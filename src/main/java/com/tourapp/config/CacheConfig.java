@@ -0,0 +1,12 @@
+package com.tourapp.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Mapped TourDTO.Response by tour ID; size and TTL come from spring.cache.caffeine.spec
+    public static final String TOURS_CACHE = "tours";
+}
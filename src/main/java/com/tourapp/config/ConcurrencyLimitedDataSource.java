@@ -0,0 +1,154 @@
+package com.tourapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of connections handed out to the size of the underlying pool.
+ * With virtual threads there is no request thread pool to bound concurrency, so
+ * without this every blocked request would queue inside the connection pool;
+ * here they wait on a fair semaphore instead and the wait is timed.
+ *
+ * <p>Wraps one physical pool: with read replicas each pool gets its own guard, so a
+ * burst of reads cannot take the permits writes need on the primary.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutMs;
+
+    private volatile Timer waitTimer;
+
+    public ConcurrencyLimitedDataSource(String name, DataSource targetDataSource, int maxConcurrency,
+                                        long acquireTimeoutMs) {
+        super(targetDataSource);
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    // Sized and timed like the pool itself: maximumPoolSize permits, connectionTimeout to get one
+    public static ConcurrencyLimitedDataSource of(String name, HikariDataSource pool) {
+        return new ConcurrencyLimitedDataSource(name, pool, pool.getMaximumPoolSize(),
+                pool.getConnectionTimeout());
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("tour.db.connection.wait")
+                .description("Time spent waiting for a database connection, including the concurrency guard")
+                .tag("pool", name)
+                .register(registry);
+        Gauge.builder("tour.db.connection.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads currently waiting for a database connection")
+                .tag("pool", name)
+                .register(registry);
+        Gauge.builder("tour.db.connection.max-concurrency", () -> maxConcurrency)
+                .description("Maximum number of connections handed out concurrently")
+                .tag("pool", name)
+                .register(registry);
+    }
+
+    // Closes the wrapped pool, so the guard can stand in for it as a bean or a replica target
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(), start);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(username, password), start);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeoutMs + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        }
+    }
+
+    // Returns the permit when the connection is closed, at most once per connection
+    private Connection guard(Connection connection, long waitStart) {
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConcurrencyLimitedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isClose(method)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        } finally {
+                            if (closed.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private static boolean isClose(Method method) {
+        return method.getName().equals("close") && method.getParameterCount() == 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tourapp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions, held in a Caffeine-backed JCache manager owned
+ * by this context. Regions are created here with their size and TTL and Hibernate is
+ * told to fail on any other region, so an entity or query can't silently end up in an
+ * unbounded cache. Statistics are published by Actuator as {@code hibernate.*} meters.
+ */
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    // Entity region of com.tourapp.entity.Tour
+    public static final String TOUR_REGION = "tour";
+
+    @Value("${tour.l2-cache.entity.maximum-size:10000}")
+    private long entityMaximumSize;
+
+    @Value("${tour.l2-cache.entity.ttl:10m}")
+    private Duration entityTtl;
+
+    @Value("${tour.l2-cache.query.maximum-size:1000}")
+    private long queryMaximumSize;
+
+    @Value("${tour.l2-cache.query.ttl:5m}")
+    private Duration queryTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A manager per context: test contexts and restarts never see each other's regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("tourapp-hibernate-" + System.identityHashCode(this)),
+                        HibernateCacheConfig.class.getClassLoader());
+
+        cacheManager.createCache(TOUR_REGION, region(entityMaximumSize, entityTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryMaximumSize, queryTtl));
+        // One entry per table; must outlive every cached query result, so neither bounded nor expired
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        log.info("Hibernate L2 cache: entities max {} for {}, queries max {} for {}",
+                entityMaximumSize, entityTtl, queryMaximumSize, queryTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tourapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourapp.event.FileOutboxPublisher;
+import com.tourapp.event.InMemoryOutboxPublisher;
+import com.tourapp.event.LoggingOutboxPublisher;
+import com.tourapp.event.OutboxPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Picks the outbox publisher with {@code tour.outbox.publisher}: {@code log} (default),
+ * {@code file} or {@code memory}.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tour.outbox.publisher", havingValue = "log", matchIfMissing = true)
+    public OutboxPublisher loggingOutboxPublisher() {
+        return new LoggingOutboxPublisher();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tour.outbox.publisher", havingValue = "file")
+    public OutboxPublisher fileOutboxPublisher(
+            @Value("${tour.outbox.file.path:outbox/tour-events.ndjson}") Path path, ObjectMapper objectMapper) {
+        return new FileOutboxPublisher(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tour.outbox.publisher", havingValue = "memory")
+    public InMemoryOutboxPublisher inMemoryOutboxPublisher() {
+        return new InMemoryOutboxPublisher();
+    }
+}
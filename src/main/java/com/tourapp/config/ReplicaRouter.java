@@ -0,0 +1,295 @@
+package com.tourapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the database for each new connection: read-only transactions go to a replica
+ * whose last probe succeeded within the lag limit, everything else to the primary. With
+ * no healthy replica, reads fall back to the primary too. Replicas are probed on a
+ * fixed interval with {@code lagQuery}, which returns the replication lag in seconds;
+ * the probe round trip is also the latency used by {@link Selection#LEAST_LATENCY}.
+ *
+ * <p>A probe may take at most one probe interval (rounded up to whole seconds, the
+ * JDBC timeout unit). A replica whose probe times out or overruns is marked unhealthy,
+ * and one not confirmed for two intervals plus that timeout (say, its probe is stuck
+ * waiting for a connection) stops receiving reads until a probe succeeds again.
+ *
+ * <p>After a tour change commits, {@link #pinReadsToPrimary()} sends every read to the
+ * primary for the next max lag, so the caches refilled after the change read the new row
+ * rather than a replica that has yet to replay it.
+ *
+ * <p>The routing decision reads the transaction's read-only flag, which Spring only
+ * sets after the transaction has begun, so {@link #dataSource()} must be used behind a
+ * {@code LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRouter implements Closeable {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LATENCY
+    }
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Selection selection;
+    private final Duration maxLag;
+    private final String lagQuery;
+
+    private final Map<String, ReplicaState> states = new LinkedHashMap<>();
+    private final Map<String, Counter> routed = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final RoutingDataSource dataSource;
+
+    private volatile List<String> healthy = List.of();
+    private volatile long pinnedUntil = System.nanoTime();
+    private volatile int probeTimeoutSeconds;
+    private volatile long staleAfterNanos;
+    private ScheduledExecutorService prober;
+
+    public ReplicaRouter(DataSource primary, Map<String, DataSource> replicas,
+                         Selection selection, Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.selection = selection;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.replicas.keySet().forEach(name -> states.put(name, new ReplicaState()));
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        dataSource = new RoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(primary);
+        dataSource.setLenientFallback(false);
+        dataSource.afterPropertiesSet();
+    }
+
+    /**
+     * Probes once so the first reads already see the replicas, then keeps probing in
+     * the background.
+     */
+    public void start(Duration probeInterval) {
+        probeTimeoutSeconds = (int) Math.max(1, (probeInterval.toMillis() + 999) / 1000);
+        staleAfterNanos = probeInterval.multipliedBy(2).plusSeconds(probeTimeoutSeconds).toNanos();
+        probe();
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probe, probeInterval.toMillis(), probeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    // Any replica within the lag limit has replayed a commit made before now once max lag has passed
+    public void pinReadsToPrimary() {
+        pinnedUntil = System.nanoTime() + maxLag.toNanos();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        states.forEach((name, state) -> {
+            Gauge.builder("tour.db.replica.lag", state, s -> s.lagSeconds)
+                    .description("Replication lag reported by the last probe")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(registry);
+            Gauge.builder("tour.db.replica.healthy", this, router -> router.routable().contains(name) ? 1 : 0)
+                    .description("Whether read-only transactions are currently routed to the replica")
+                    .tag("replica", name)
+                    .register(registry);
+        });
+        if (primary instanceof ConcurrencyLimitedDataSource limited) {
+            limited.bindTo(registry);
+        }
+        replicas.values().forEach(replica -> {
+            if (replica instanceof ConcurrencyLimitedDataSource limited) {
+                limited.bindTo(registry);
+            }
+        });
+        routed.put(PRIMARY, routedCounter(registry, PRIMARY));
+        replicas.keySet().forEach(name -> routed.put(name, routedCounter(registry, name)));
+    }
+
+    String route() {
+        String target = select();
+        Counter counter = routed.get(target);
+        if (counter != null) {
+            counter.increment();
+        }
+        return target;
+    }
+
+    private String select() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || System.nanoTime() - pinnedUntil < 0) {
+            return PRIMARY;
+        }
+
+        List<String> candidates = routable();
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+            case LEAST_LATENCY -> candidates.stream()
+                    .min(Comparator.comparingLong(name -> states.get(name).latencyNanos))
+                    .orElse(PRIMARY);
+        };
+    }
+
+    // Healthy replicas whose last good probe is recent enough to still be trusted
+    private List<String> routable() {
+        List<String> candidates = healthy;
+        long now = System.nanoTime();
+        for (String name : candidates) {
+            if (states.get(name).isStale(now, staleAfterNanos)) {
+                return candidates.stream().filter(n -> !states.get(n).isStale(now, staleAfterNanos)).toList();
+            }
+        }
+        return candidates;
+    }
+
+    void probe() {
+        // Published replica by replica, so a slow probe does not hold back what the others found
+        replicas.forEach((name, replica) -> setHealthy(name, probe(name, replica)));
+    }
+
+    private boolean probe(String name, DataSource replica) {
+        ReplicaState state = states.get(name);
+        boolean wasHealthy = healthy.contains(name);
+        long probeStart = System.nanoTime();
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(probeTimeoutSeconds);
+            long start = System.nanoTime();
+            double lagSeconds;
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                lagSeconds = result.next() ? result.getDouble(1) : 0;
+            }
+            long end = System.nanoTime();
+            state.record(lagSeconds, end - start);
+
+            // Drivers that ignore the query timeout, or a slow connection checkout
+            if (probeTimeoutSeconds > 0 && end - probeStart > TimeUnit.SECONDS.toNanos(probeTimeoutSeconds)) {
+                if (wasHealthy) {
+                    log.warn("Replica '{}' probe took {} ms (limit {} s), reads fall back",
+                            name, (end - probeStart) / 1_000_000, probeTimeoutSeconds);
+                }
+                return false;
+            }
+            if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                state.confirmedAt = end;
+                if (!wasHealthy) {
+                    log.info("Routing reads to replica '{}' (lag {} s)", name, lagSeconds);
+                }
+                return true;
+            }
+            if (wasHealthy) {
+                log.warn("Replica '{}' is {} s behind (limit {}), reads fall back", name, lagSeconds, maxLag);
+            }
+            return false;
+        } catch (SQLException | RuntimeException ex) {
+            state.lagSeconds = Double.NaN;
+            if (wasHealthy) {
+                log.warn("Replica '{}' probe failed, reads fall back: {}", name, ex.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // Only the probe thread writes; readers see either the old or the new list
+    private void setHealthy(String name, boolean up) {
+        if (healthy.contains(name) == up) {
+            return;
+        }
+        List<String> updated = new ArrayList<>();
+        for (String replica : replicas.keySet()) {
+            if (replica.equals(name) ? up : healthy.contains(replica)) {
+                updated.add(replica);
+            }
+        }
+        healthy = List.copyOf(updated);
+    }
+
+    @Override
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+        closeQuietly(primary);
+        replicas.values().forEach(ReplicaRouter::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Could not close DataSource: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry registry, String target) {
+        return Counter.builder("tour.db.routing")
+                .description("Connections handed out, by the database they were routed to")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    private static final class ReplicaState {
+        private volatile double lagSeconds = Double.NaN;
+        private volatile long latencyNanos;
+        private volatile long confirmedAt;
+
+        boolean isStale(long now, long staleAfterNanos) {
+            return staleAfterNanos > 0 && now - confirmedAt > staleAfterNanos;
+        }
+
+        void record(double lagSeconds, long latencyNanos) {
+            this.lagSeconds = lagSeconds;
+            // Smoothed, so one slow probe doesn't swing every read to another replica
+            long previous = this.latencyNanos;
+            this.latencyNanos = previous == 0 ? latencyNanos : (previous * 7 + latencyNanos) / 8;
+        }
+    }
+
+    private final class RoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return route();
+        }
+    }
+}
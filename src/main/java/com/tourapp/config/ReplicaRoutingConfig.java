@@ -0,0 +1,94 @@
+package com.tourapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting, enabled with {@code tour.datasource.replicas.enabled}. The
+ * primary pool is built from {@code spring.datasource.*} as Boot would; each replica
+ * URL gets a read-only pool with the same Hikari settings. With
+ * {@code tour.datasource.concurrency-guard.enabled} each pool gets its own
+ * {@link ConcurrencyLimitedDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tour.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${tour.datasource.replicas.urls}") List<String> urls,
+            @Value("${tour.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${tour.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${tour.datasource.replicas.selection:round-robin}") ReplicaRouter.Selection selection,
+            @Value("${tour.datasource.replicas.max-lag:5s}") Duration maxLag,
+            @Value("${tour.datasource.replicas.probe-interval:2s}") Duration probeInterval,
+            @Value("${tour.datasource.replicas.lag-query}") String lagQuery,
+            @Value("${tour.datasource.concurrency-guard.enabled:false}") boolean concurrencyGuard) {
+
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(binder, primary, ReplicaRouter.PRIMARY);
+
+        DataSource primaryTarget = concurrencyGuard ? ConcurrencyLimitedDataSource.of(ReplicaRouter.PRIMARY, primary) : primary;
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(url.strip())
+                    .username(username)
+                    .password(password)
+                    .build();
+            configure(binder, replica, name);
+            replica.setReadOnly(true);
+            replicas.put(name, concurrencyGuard ? ConcurrencyLimitedDataSource.of(name, replica) : replica);
+        }
+
+        log.info("Routing read-only transactions to {} replica(s), {} selection, max lag {}",
+                replicas.size(), selection, maxLag);
+        ReplicaRouter router = new ReplicaRouter(primaryTarget, replicas, selection, maxLag, lagQuery);
+        router.start(probeInterval);
+        return router;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        // Defers the routing decision until the first statement, when the read-only flag is known
+        return new LazyConnectionDataSourceProxy(replicaRouter.dataSource());
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRouter replicaRouter) {
+        return replicaRouter::bindTo;
+    }
+
+    // Same spring.datasource.hikari.* settings Boot applies to its own pool
+    private static void configure(Binder binder, HikariDataSource pool, String name) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+    }
+}
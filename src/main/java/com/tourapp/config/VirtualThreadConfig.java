@@ -0,0 +1,53 @@
+package com.tourapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Database concurrency guard used with {@code spring.threads.virtual.enabled}. Boot
+ * itself switches Tomcat, MVC async (streamed exports) and scheduling to virtual
+ * threads; this caps how many of them can hold a connection at once.
+ *
+ * <p>The guard goes on each physical pool, never on a proxy in front of several: here
+ * on Boot's Hikari pool, and in {@link ReplicaRoutingConfig} on the primary and every
+ * replica pool it builds.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tour.datasource.concurrency-guard.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    // Static so wrapping the DataSource doesn't force early initialization of this class
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Routing proxies are left alone: their targets are guarded one by one
+                if (bean instanceof HikariDataSource pool) {
+                    log.info("Limiting DataSource '{}' to {} concurrent connections", beanName,
+                            pool.getMaximumPoolSize());
+                    return ConcurrencyLimitedDataSource.of(beanName, pool);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Boot's pool only; ReplicaRouter publishes the metrics of the pools it routes to
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+                limited.bindTo(registry);
+            }
+        };
+    }
+}
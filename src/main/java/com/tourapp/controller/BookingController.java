@@ -0,0 +1,158 @@
+package com.tourapp.controller;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.service.BookingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/tours/{tourId}")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Bookings", description = "Seat reservations on a tour")
+public class BookingController {
+
+    private final BookingService bookingService;
+
+    @PostMapping("/bookings")
+    @Operation(summary = "Book seats", description = "Reserves seats on a tour; refused when the tour is not open or not enough seats are left. " +
+            "The booking is PENDING until written: poll its Location until it is CONFIRMED or REJECTED")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Seats taken, booking PENDING"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Tour not found"),
+            @ApiResponse(responseCode = "409", description = "Not enough seats left, or tour not open for booking")
+    })
+    public ResponseEntity<TourDTO.BookingResponse> createBooking(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Valid @RequestBody TourDTO.BookingRequest request) {
+        log.debug("POST /api/v1/tours/{}/bookings - Booking seats", tourId);
+
+        return pending(bookingService.reserve(tourId, request.getSeats()));
+    }
+
+    @GetMapping("/bookings/{bookingId}")
+    @Operation(summary = "Get booking", description = "Retrieves a booking; PENDING until written, then CONFIRMED, or REJECTED when the seats could not be confirmed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Booking found"),
+            @ApiResponse(responseCode = "404", description = "Tour or booking not found")
+    })
+    public ResponseEntity<TourDTO.BookingResponse> getBooking(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
+        log.debug("GET /api/v1/tours/{}/bookings/{} - Fetching booking", tourId, bookingId);
+
+        return ResponseEntity.ok(bookingService.getBooking(tourId, bookingId));
+    }
+
+    @DeleteMapping("/bookings/{bookingId}")
+    @Operation(summary = "Cancel booking", description = "Releases the seats of a booking; cancelling twice has no further effect")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Booking cancelled"),
+            @ApiResponse(responseCode = "404", description = "Tour or booking not found")
+    })
+    public ResponseEntity<Void> cancelBooking(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Parameter(description = "Booking ID") @PathVariable UUID bookingId) {
+        log.info("DELETE /api/v1/tours/{}/bookings/{} - Cancelling booking", tourId, bookingId);
+
+        bookingService.cancel(tourId, bookingId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Hold seats", description = "Keeps seats for checkout; they are released automatically when the hold expires")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Seats held"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Tour not found"),
+            @ApiResponse(responseCode = "409", description = "Not enough seats left, or tour not open for booking")
+    })
+    public ResponseEntity<TourDTO.HoldResponse> createHold(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Valid @RequestBody TourDTO.BookingRequest request) {
+        log.debug("POST /api/v1/tours/{}/holds - Holding seats", tourId);
+
+        TourDTO.HoldResponse response = bookingService.hold(tourId, request.getSeats());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/holds/{holdId}")
+    @Operation(summary = "Get hold", description = "Retrieves a hold while it still keeps its seats")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold found"),
+            @ApiResponse(responseCode = "404", description = "Tour not found, or hold unknown, settled or expired")
+    })
+    public ResponseEntity<TourDTO.HoldResponse> getHold(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Parameter(description = "Hold ID") @PathVariable UUID holdId) {
+        log.debug("GET /api/v1/tours/{}/holds/{} - Fetching hold", tourId, holdId);
+
+        return ResponseEntity.ok(bookingService.getHold(tourId, holdId));
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @Operation(summary = "Confirm hold", description = "Turns a hold into a booking with the seats it keeps; PENDING until written, like any booking")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Booking created, PENDING"),
+            @ApiResponse(responseCode = "404", description = "Tour not found, or hold unknown, settled or expired"),
+            @ApiResponse(responseCode = "409", description = "Tour no longer open for booking; the hold is released")
+    })
+    public ResponseEntity<TourDTO.BookingResponse> confirmHold(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Parameter(description = "Hold ID") @PathVariable UUID holdId) {
+        log.info("POST /api/v1/tours/{}/holds/{}/confirm - Confirming hold", tourId, holdId);
+
+        return pending(bookingService.confirmHold(tourId, holdId));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release hold", description = "Gives the seats of a hold back before it expires")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Hold released"),
+            @ApiResponse(responseCode = "404", description = "Tour not found, or hold unknown, settled or expired")
+    })
+    public ResponseEntity<Void> releaseHold(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId,
+            @Parameter(description = "Hold ID") @PathVariable UUID holdId) {
+        log.info("DELETE /api/v1/tours/{}/holds/{} - Releasing hold", tourId, holdId);
+
+        bookingService.releaseHold(tourId, holdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get seat availability", description = "Capacity, seats taken and seats left on a tour")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability retrieved"),
+            @ApiResponse(responseCode = "404", description = "Tour not found")
+    })
+    public ResponseEntity<TourDTO.Availability> getAvailability(
+            @Parameter(description = "Tour ID") @PathVariable UUID tourId) {
+        log.debug("GET /api/v1/tours/{}/availability - Fetching availability", tourId);
+
+        return ResponseEntity.ok(bookingService.getAvailability(tourId));
+    }
+
+    // Written by the next flush; the Location tells the client where to read the outcome
+    private static ResponseEntity<TourDTO.BookingResponse> pending(TourDTO.BookingResponse booking) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/tours/{tourId}/bookings/{bookingId}")
+                .buildAndExpand(booking.getTourId(), booking.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(booking);
+    }
+}
@@ -1,8 +1,19 @@
 package com.tourapp.controller;
 
+import com.tourapp.dto.CursorPage;
+import com.tourapp.dto.PaginatedResponse;
 import com.tourapp.dto.TourDTO;
 import com.tourapp.entity.Tour;
+import com.tourapp.exception.PreconditionRequiredException;
+import com.tourapp.repository.TourListVersion;
+import com.tourapp.repository.TourVersion;
+import com.tourapp.service.CatalogFormat;
+import com.tourapp.service.SingleFlight;
+import com.tourapp.service.TourEventStream;
+import com.tourapp.service.TourExportService;
+import com.tourapp.service.TourImportService;
 import com.tourapp.service.TourService;
+import com.tourapp.service.TourSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,13 +26,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/tours")
@@ -31,6 +53,12 @@ import java.util.UUID;
 public class TourController {
 
     private final TourService tourService;
+    private final TourExportService tourExportService;
+    private final TourImportService tourImportService;
+    private final TourEventStream tourEventStream;
+    private final TourSyncService tourSyncService;
+    // Concurrent identical reads share one load (thundering herds on popular tours and searches)
+    private final SingleFlight singleFlight;
 
     @PostMapping
     @Operation(summary = "Create a new tour", description = "Creates a new tour with the provided information")
@@ -46,6 +74,45 @@ public class TourController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create tours in batch", description = "Creates several tours in one request and reports the outcome of each item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public ResponseEntity<TourDTO.BatchResult> createTours(@RequestBody List<TourDTO.Request> requests) {
+        log.info("POST /api/v1/tours/batch - Creating {} tours", requests.size());
+
+        TourDTO.BatchResult result = tourService.createTours(requests);
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/batch")
+    @Operation(summary = "Update tours in batch", description = "Updates several tours in one request and reports the outcome of each item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public ResponseEntity<TourDTO.BatchResult> updateTours(@RequestBody List<TourDTO.BatchUpdateItem> items) {
+        log.info("PUT /api/v1/tours/batch - Updating {} tours", items.size());
+
+        TourDTO.BatchResult result = tourService.updateTours(items);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/batch")
+    @Operation(summary = "Delete tours in batch", description = "Deletes several tours by ID and reports the outcome of each item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public ResponseEntity<TourDTO.BatchResult> deleteTours(@RequestBody List<UUID> ids) {
+        log.info("DELETE /api/v1/tours/batch - Deleting {} tours", ids.size());
+
+        TourDTO.BatchResult result = tourService.deleteTours(ids);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get tour by ID", description = "Retrieves a specific tour by its ID")
     @ApiResponses(value = {
@@ -53,11 +120,23 @@ public class TourController {
             @ApiResponse(responseCode = "404", description = "Tour not found")
     })
     public ResponseEntity<TourDTO.Response> getTourById(
-            @Parameter(description = "Tour ID") @PathVariable UUID id) {
-        log.info("GET /api/v1/tours/{} - Fetching tour", id);
+            @Parameter(description = "Tour ID") @PathVariable UUID id,
+            WebRequest request) {
+        log.debug("GET /api/v1/tours/{} - Fetching tour", id);
+
+        // Revalidation only needs the version; the entity is loaded and mapped on a miss alone
+        TourVersion version = singleFlight.execute("tourVersion", () -> tourService.getTourVersion(id), id);
+        if (request.checkNotModified(TourValidators.etag(id, version.version()),
+                TourValidators.lastModified(version.updatedAt()))) {
+            return null;
+        }
 
-        TourDTO.Response response = tourService.getTourById(id);
-        return ResponseEntity.ok(response);
+        TourDTO.Response response = singleFlight.execute("tourById", () -> tourService.getTourById(id), id);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(TourValidators.etag(id, response.getVersion()))
+                .body(response);
     }
 
     @GetMapping
@@ -65,27 +144,156 @@ public class TourController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tours retrieved successfully")
     })
-    public ResponseEntity<Page<TourDTO.Summary>> getAllTours(
+    public ResponseEntity<PaginatedResponse<TourDTO.Summary>> getAllTours(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
 
-        log.info("GET /api/v1/tours - Fetching tours, page: {}, size: {}", page, size);
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/tours - Fetching tours, page: {}, size: {}", page, size);
+        }
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<TourDTO.Summary> tours = tourService.getAllTours(pageable);
+        return listResponse(request, tourService.getListVersion(null, null, null, null, null, null, null),
+                () -> singleFlight.execute("allTours", () -> tourService.getAllTours(pageable), pageable),
+                "all", page, size, sortBy, sortDir);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll all tours", description = "Retrieves tours using cursor (keyset) pagination, without total counts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tours retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field")
+    })
+    public ResponseEntity<CursorPage<TourDTO.Summary>> scrollTours(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field (first page only)") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (first page only)") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/tours/scroll - Scrolling tours, size: {}", size);
+        }
+
+        CursorPage<TourDTO.Summary> tours = tourService.scrollTours(cursor, size, sortBy, sortDir);
         return ResponseEntity.ok(tours);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export all tours", description = "Streams the full catalogue as NDJSON (default) or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalogue streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTours(
+            @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("GET /api/v1/tours/export - Exporting tours as {}", format);
+
+        CatalogFormat exportFormat = CatalogFormat.from(format);
+        StreamingResponseBody body = output -> tourExportService.exportTours(exportFormat, output);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tours." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Sync changed tours", description = "Tours changed or deleted after a watermark, oldest first, with the watermark for the next sync")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark or limit"),
+            @ApiResponse(responseCode = "410", description = "Watermark too old; download the catalogue again")
+    })
+    public ResponseEntity<TourDTO.DeltaPage> getTourChanges(
+            @Parameter(description = "Watermark from the previous sync; omit for a full download") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/tours/changes - Syncing changes, limit: {}", limit);
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(tourSyncService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream tour changes", description = "Server-sent events for created, updated, status-changed and deleted tours; "
+            + "reconnect with Last-Event-ID to resume, and reload the catalogue on a 'reset' event. "
+            + "Only changes committed by the instance serving the stream are sent")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    public SseEmitter streamTourEvents(
+            @Parameter(description = "Id of the last event received") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("GET /api/v1/tours/events - Opening event stream after {}", lastEventId);
+
+        return tourEventStream.subscribe(lastEventId);
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(summary = "Import tours", description = "Creates tours from an NDJSON or CSV body, committed in fixed-size chunks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see the report for per-record errors"),
+            @ApiResponse(responseCode = "415", description = "Body is neither NDJSON nor CSV")
+    })
+    public ResponseEntity<TourDTO.ImportReport> importTours(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        log.info("POST /api/v1/tours/import - Importing tours from {}", contentType);
+
+        TourDTO.ImportReport report = tourImportService.importTours(CatalogFormat.from(contentType), body);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest tours", description = "Typeahead suggestions for active tour names and destinations, most popular first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<TourDTO.Suggestion>> suggest(
+            @Parameter(description = "Prefix typed so far") @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit) {
+
+        List<TourDTO.Suggestion> suggestions = tourService.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/search/text")
+    @Operation(summary = "Full-text search", description = "Relevance-ranked search over name, destination and description, accent-insensitive with prefix matching")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing search text or page beyond the result window")
+    })
+    public ResponseEntity<PaginatedResponse<TourDTO.Summary>> searchToursByText(
+            @Parameter(description = "Search text") @RequestParam(required = false) String q,
+            @Parameter(description = "Tour status filter") @RequestParam(required = false) Tour.TourStatus status,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+
+        log.debug("GET /api/v1/tours/search/text - Full-text search for '{}'", q);
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<TourDTO.Summary> tours = singleFlight.execute("searchText",
+                () -> tourService.searchToursByText(q, status, pageable), q, status, pageable);
+        return ResponseEntity.ok(PaginatedResponse.from(tours));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search tours", description = "Search tours with various filters")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully")
     })
-    public ResponseEntity<Page<TourDTO.Summary>> searchTours(
+    public ResponseEntity<PaginatedResponse<TourDTO.Summary>> searchTours(
             @Parameter(description = "Tour name filter") @RequestParam(required = false) String name,
             @Parameter(description = "Destination filter") @RequestParam(required = false) String destination,
             @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
@@ -96,34 +304,96 @@ public class TourController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
 
-        log.info("GET /api/v1/tours/search - Searching tours with filters");
+        log.debug("GET /api/v1/tours/search - Searching tours with filters");
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<TourDTO.Summary> tours = tourService.searchTours(
-                name, destination, minPrice, maxPrice, minDays, maxDays, status, pageable);
+        return listResponse(request,
+                tourService.getListVersion(name, destination, minPrice, maxPrice, minDays, maxDays, status),
+                () -> singleFlight.execute("search",
+                        () -> tourService.searchTours(name, destination, minPrice, maxPrice, minDays, maxDays, status, pageable),
+                        name, destination, minPrice, maxPrice, minDays, maxDays, status, pageable),
+                "search", name, destination, minPrice, maxPrice, minDays, maxDays, status, page, size, sortBy, sortDir);
+    }
 
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Scroll search results", description = "Search tours with filters using cursor (keyset) pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field")
+    })
+    public ResponseEntity<CursorPage<TourDTO.Summary>> scrollSearchTours(
+            @Parameter(description = "Tour name filter") @RequestParam(required = false) String name,
+            @Parameter(description = "Destination filter") @RequestParam(required = false) String destination,
+            @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Minimum duration days") @RequestParam(required = false) Integer minDays,
+            @Parameter(description = "Maximum duration days") @RequestParam(required = false) Integer maxDays,
+            @Parameter(description = "Tour status") @RequestParam(required = false) Tour.TourStatus status,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field (first page only)") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (first page only)") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.debug("GET /api/v1/tours/search/scroll - Scrolling tours with filters");
+
+        CursorPage<TourDTO.Summary> tours = tourService.scrollSearchTours(
+                name, destination, minPrice, maxPrice, minDays, maxDays, status, cursor, size, sortBy, sortDir);
         return ResponseEntity.ok(tours);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update tour", description = "Updates an existing tour")
+    @Operation(summary = "Update tour", description = "Updates an existing tour, optionally only if it still matches If-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tour updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "404", description = "Tour not found"),
-            @ApiResponse(responseCode = "409", description = "Tour with same name already exists")
+            @ApiResponse(responseCode = "409", description = "Tour with same name already exists or concurrent update"),
+            @ApiResponse(responseCode = "412", description = "Tour changed since the ETag in If-Match")
     })
     public ResponseEntity<TourDTO.Response> updateTour(
             @Parameter(description = "Tour ID") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being replaced")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TourDTO.Request request) {
         log.info("PUT /api/v1/tours/{} - Updating tour", id);
 
-        TourDTO.Response response = tourService.updateTour(id, request);
-        return ResponseEntity.ok(response);
+        TourDTO.Response response = tourService.updateTour(id, request, TourValidators.expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(TourValidators.etag(id, response.getVersion()))
+                .body(response);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch tour",
+            description = "Updates the given fields of a tour in a single conditional statement; requires If-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tour patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Tour not found"),
+            @ApiResponse(responseCode = "409", description = "Tour with same name already exists"),
+            @ApiResponse(responseCode = "412", description = "Tour changed since the ETag in If-Match"),
+            @ApiResponse(responseCode = "428", description = "If-Match header missing")
+    })
+    public ResponseEntity<TourDTO.Response> patchTour(
+            @Parameter(description = "Tour ID") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being patched, or *")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TourDTO.Patch patch) {
+        log.info("PATCH /api/v1/tours/{} - Patching tour", id);
+
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("PATCH requires an If-Match header with the tour's ETag or *");
+        }
+
+        TourDTO.Response response = tourService.patchTour(id, patch, TourValidators.expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(TourValidators.etag(id, response.getVersion()))
+                .body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -145,19 +415,41 @@ public class TourController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tours retrieved successfully")
     })
-    public ResponseEntity<Page<TourDTO.Summary>> getToursByStatus(
+    public ResponseEntity<PaginatedResponse<TourDTO.Summary>> getToursByStatus(
             @Parameter(description = "Tour status") @PathVariable Tour.TourStatus status,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
 
-        log.info("GET /api/v1/tours/status/{} - Fetching tours by status", status);
+        log.debug("GET /api/v1/tours/status/{} - Fetching tours by status", status);
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<TourDTO.Summary> tours = tourService.getToursByStatus(status, pageable);
+        return listResponse(request, tourService.getListVersion(null, null, null, null, null, null, status),
+                () -> singleFlight.execute("toursByStatus", () -> tourService.getToursByStatus(status, pageable),
+                        status, pageable),
+                "status", status, page, size, sortBy, sortDir);
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    @Operation(summary = "Scroll tours by status", description = "Retrieves tours filtered by status using cursor (keyset) pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tours retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field")
+    })
+    public ResponseEntity<CursorPage<TourDTO.Summary>> scrollToursByStatus(
+            @Parameter(description = "Tour status") @PathVariable Tour.TourStatus status,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field (first page only)") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (first page only)") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.debug("GET /api/v1/tours/status/{}/scroll - Scrolling tours by status", status);
+
+        CursorPage<TourDTO.Summary> tours = tourService.scrollToursByStatus(status, cursor, size, sortBy, sortDir);
         return ResponseEntity.ok(tours);
     }
 
@@ -167,9 +459,48 @@ public class TourController {
             @ApiResponse(responseCode = "200", description = "Popular destinations retrieved successfully")
     })
     public ResponseEntity<List<String>> getPopularDestinations() {
-        log.info("GET /api/v1/tours/destinations/popular - Fetching popular destinations");
+        log.debug("GET /api/v1/tours/destinations/popular - Fetching popular destinations");
 
         List<String> destinations = tourService.getPopularDestinations();
         return ResponseEntity.ok(destinations);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/destinations/popular/top")
+    @Operation(summary = "Get top destinations", description = "Retrieves the destinations with most active tours, with their tour counts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Top destinations retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<TourDTO.DestinationCount>> getTopDestinations(
+            @Parameter(description = "Maximum number of destinations") @RequestParam(defaultValue = "10") int limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/tours/destinations/popular/top - Fetching top {} destinations", limit);
+        }
+
+        List<TourDTO.DestinationCount> destinations = tourService.getTopDestinations(limit);
+        return ResponseEntity.ok(destinations);
+    }
+
+    /**
+     * Conditional GET of a list page, by ETag only: a Last-Modified taken from the tours
+     * still listed would not move when one is deleted or leaves the filter. When the
+     * search index can tag the list, a match skips the query; otherwise the tag is taken
+     * from the page itself, so revalidating costs no query beyond the page.
+     */
+    private ResponseEntity<PaginatedResponse<TourDTO.Summary>> listResponse(
+            WebRequest request, Optional<TourListVersion> version, Supplier<Page<TourDTO.Summary>> query,
+            Object... parameters) {
+
+        if (version.isPresent() && request.checkNotModified(TourValidators.etag(version.get(), parameters))) {
+            return null;
+        }
+        Page<TourDTO.Summary> tours = query.get();
+        if (version.isEmpty() && request.checkNotModified(TourValidators.etag(tours, parameters))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(PaginatedResponse.from(tours));
+    }
+}
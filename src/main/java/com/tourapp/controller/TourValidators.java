@@ -0,0 +1,89 @@
+package com.tourapp.controller;
+
+import com.tourapp.exception.PreconditionFailedException;
+import com.tourapp.repository.TourListVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * ETags and Last-Modified values for conditional requests. A single tour is tagged with
+ * its optimistic-lock version, a list with the count and latest {@code updatedAt} the
+ * search index keeps, so neither needs the tours themselves; without the index, a list
+ * is tagged from the page it returns.
+ */
+final class TourValidators {
+
+    private TourValidators() {
+    }
+
+    static String etag(UUID id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * The version an If-Match header asks for, or null when it is absent or {@code *}.
+     * Weak tags and tags of other tours never match (RFC 9110 strong comparison).
+     */
+    static Long expectedVersion(UUID id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.strip();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException ignored) {
+                    // Not one of our tags; try the next one
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current tour " + id);
+    }
+
+    // The request parameters are part of the tag: each page and sort order is its own representation.
+    // Weak, since it tracks the data rather than the bytes; Tomcat only gzips responses without a strong tag
+    static String etag(TourListVersion version, Object... parameters) {
+        StringBuilder key = key(parameters);
+        key.append(version.count()).append('|').append(micros(version.lastModified()));
+        return weakTag(key);
+    }
+
+    // From the page itself: its total and every field of every item (their toString lists them all)
+    static String etag(Page<?> page, Object... parameters) {
+        StringBuilder key = key(parameters);
+        key.append(page.getTotalElements());
+        for (Object item : page.getContent()) {
+            key.append('|').append(item);
+        }
+        return weakTag(key);
+    }
+
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static StringBuilder key(Object... parameters) {
+        StringBuilder key = new StringBuilder();
+        for (Object parameter : parameters) {
+            key.append(parameter).append('|');
+        }
+        return key;
+    }
+
+    private static String weakTag(StringBuilder key) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static long micros(LocalDateTime updatedAt) {
+        return updatedAt == null ? 0 : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+}
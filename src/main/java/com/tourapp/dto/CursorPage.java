@@ -0,0 +1,32 @@
+package com.tourapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Cursor-based page of results, without total counts")
+public class CursorPage<T> {
+
+    @Schema(description = "List of items for current page")
+    private List<T> content;
+
+    @Schema(description = "Number of items in current page", example = "10")
+    private int numberOfElements;
+
+    @Schema(description = "Whether there are more items after this page", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque token to fetch the next page (absent on the last page)",
+            example = "eyJzIjoiY3JlYXRlZEF0IiwiZCI6IkRFU0MifQ")
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.tourapp.dto;
 
+import com.tourapp.entity.Booking;
 import com.tourapp.entity.Tour;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public class TourDTO {
@@ -63,6 +65,41 @@ public class TourDTO {
         private String imageUrl;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private Long version;
+    }
+
+    // Partial update: null fields are left unchanged
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Patch {
+        @Size(min = 3, max = 100, message = "Tour name must be between 3 and 100 characters")
+        @Pattern(regexp = "(?s).*\\S.*", message = "Tour name must not be blank")
+        private String name;
+
+        @Size(min = 10, max = 1000, message = "Description must be between 10 and 1000 characters")
+        @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank")
+        private String description;
+
+        @Size(min = 2, max = 100, message = "Destination must be between 2 and 100 characters")
+        @Pattern(regexp = "(?s).*\\S.*", message = "Destination must not be blank")
+        private String destination;
+
+        @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+        private BigDecimal price;
+
+        @Min(value = 1, message = "Duration must be at least 1 day")
+        @Max(value = 365, message = "Duration cannot exceed 365 days")
+        private Integer durationDays;
+
+        @Min(value = 1, message = "Maximum participants must be at least 1")
+        @Max(value = 100, message = "Maximum participants cannot exceed 100")
+        private Integer maxParticipants;
+
+        private Tour.TourStatus status;
+
+        @Size(max = 255, message = "Image URL cannot exceed 255 characters")
+        private String imageUrl;
     }
 
     @Data
@@ -77,4 +114,181 @@ public class TourDTO {
         private Tour.TourStatus status;
         private String imageUrl;
     }
-}
\ No newline at end of file
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DestinationCount {
+        private String destination;
+        private long tourCount;
+    }
+
+    public enum SuggestionType {
+        DESTINATION, TOUR
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Suggestion {
+        private String text;
+        private SuggestionType type;
+        private UUID tourId;
+        private long weight;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchUpdateItem {
+        private UUID id;
+        private Request tour;
+    }
+
+    public enum BatchItemStatus {
+        CREATED, UPDATED, DELETED, FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchItemResult {
+        private int index;
+        private UUID id;
+        private BatchItemStatus status;
+        private String error;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchResult {
+        private int total;
+        private int succeeded;
+        private int failed;
+        private List<BatchItemResult> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportChunk {
+        private int chunk;
+        private long firstRecord;
+        private int records;
+        private int created;
+        private int failed;
+        private long elapsedMs;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportError {
+        private long record;
+        private long line;
+        private String error;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportReport {
+        private long total;
+        private long created;
+        private long failed;
+        private boolean completed;
+        private boolean errorsTruncated;
+        private List<ImportChunk> chunks;
+        private List<ImportError> errors;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookingRequest {
+        @NotNull(message = "Seats is required")
+        @Min(value = 1, message = "At least one seat must be booked")
+        @Max(value = 100, message = "Cannot book more than 100 seats at once")
+        private Integer seats;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookingResponse {
+        private UUID id;
+        private UUID tourId;
+        private int seats;
+        private Booking.BookingStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime cancelledAt;
+        private int seatsAvailable;
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    // One entry of the change stream; the tour is its state right after the change
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChangeEvent {
+        // Same as the SSE id: <stream>-<sequence>
+        private String id;
+        private ChangeType type;
+        private UUID tourId;
+        private Tour.TourStatus previousStatus;
+        private Response tour;
+        private LocalDateTime occurredAt;
+    }
+
+    // One entry of a delta sync: the tour's current state, or a deletion
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Delta {
+        private UUID tourId;
+        private boolean deleted;
+        private LocalDateTime changedAt;
+        private Response tour;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeltaPage {
+        private List<Delta> changes;
+        // Pass as ?since= on the next sync
+        private String watermark;
+        private boolean hasMore;
+    }
+
+    public enum HoldStatus {
+        HELD, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HoldResponse {
+        private UUID id;
+        private UUID tourId;
+        private int seats;
+        private HoldStatus status;
+        private LocalDateTime expiresAt;
+        private int seatsAvailable;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Availability {
+        private UUID tourId;
+        private int capacity;
+        private int reserved;
+        private int available;
+        private Tour.TourStatus status;
+    }
+}
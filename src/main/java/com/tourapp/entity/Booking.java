@@ -0,0 +1,49 @@
+package com.tourapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Seats booked on a tour. The id is assigned when the booking is accepted in memory, as
+ * PENDING; the next flush (see {@code BookingService}) writes the row as CONFIRMED or
+ * REJECTED, so PENDING is never stored.
+ */
+@Entity
+@Table(name = "bookings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Booking {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, updatable = false)
+    private UUID tourId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer seats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime cancelledAt;
+
+    // Null until first written, which is also how Spring Data tells a new booking apart
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public enum BookingStatus {
+        PENDING, CONFIRMED, CANCELLED, REJECTED
+    }
+}
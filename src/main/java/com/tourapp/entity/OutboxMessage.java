@@ -0,0 +1,52 @@
+package com.tourapp.entity;
+
+import com.tourapp.event.TourChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A tour change waiting in the outbox. The id lets consumers drop the duplicates
+ * at-least-once delivery can produce; the tour version orders changes to the same tour,
+ * which relays running side by side may deliver out of order.
+ */
+@Entity
+@Table(name = "tour_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID tourId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TourChangedEvent.ChangeType type;
+
+    // Tour version after the change; a deletion carries the version it removed
+    @Column(nullable = false)
+    private Long version;
+
+    // The tour as JSON (TourDTO.Response), as it was right after the change
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,10 +1,17 @@
 package com.tourapp.entity;
 
+import com.tourapp.config.HibernateCacheConfig;
+import com.tourapp.event.TourEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,7 +25,8 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TourEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TOUR_REGION)
 public class Tour {
 
     @Id
@@ -30,6 +38,11 @@ public class Tour {
     @Column(nullable = false, length = 100)
     private String name;
 
+    // LOWER(name), generated by the database and unique (db/migration); case-insensitive lookups go through it
+    @Column(name = "name_key", length = 100, insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private String nameKey;
+
     @NotBlank(message = "Description is required")
     @Size(min = 10, max = 1000, message = "Description must be between 10 and 1000 characters")
     @Column(nullable = false, length = 1000)
@@ -61,6 +74,13 @@ public class Tour {
     @Column(nullable = false)
     private TourStatus status = TourStatus.ACTIVE;
 
+    // Status before the last patch; the patch's UPDATE sets it from the old row, so the change
+    // can be announced without reading the tour first (TourRepositoryCustom.updateIfVersionMatches)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private TourStatus previousStatus;
+
     @Size(max = 255, message = "Image URL cannot exceed 255 characters")
     private String imageUrl;
 
@@ -72,6 +92,16 @@ public class Tour {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; also the tour's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Status as last read or written, kept by TourEntityListener to report status changes
+    @Transient
+    @EqualsAndHashCode.Exclude
+    private TourStatus loadedStatus;
+
     public enum TourStatus {
         ACTIVE, INACTIVE, CANCELLED, FULL
     }
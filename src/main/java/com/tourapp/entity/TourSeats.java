@@ -0,0 +1,28 @@
+package com.tourapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Seats currently reserved on a tour; capacity is {@link Tour#getMaxParticipants()}.
+ */
+@Entity
+@Table(name = "tour_seats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourSeats {
+
+    @Id
+    private UUID tourId;
+
+    @Column(nullable = false)
+    private Integer reserved;
+}
@@ -0,0 +1,29 @@
+package com.tourapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marks a deleted {@link Tour} so delta sync can tell clients to drop it.
+ */
+@Entity
+@Table(name = "tour_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourTombstone {
+
+    @Id
+    private UUID tourId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
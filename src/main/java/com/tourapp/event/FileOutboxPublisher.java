@@ -0,0 +1,61 @@
+package com.tourapp.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tourapp.entity.OutboxMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends messages to a file as NDJSON, one write and one fsync per batch, so a batch
+ * is only taken out of the outbox once it is on disk.
+ */
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxPublisher(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (OutboxMessage message : batch) {
+                ObjectNode line = objectMapper.createObjectNode();
+                line.put("id", message.getId());
+                line.put("tourId", message.getTourId().toString());
+                line.put("type", message.getType().name());
+                line.put("version", message.getVersion());
+                line.put("createdAt", message.getCreatedAt().toString());
+                line.set("tour", objectMapper.readTree(message.getPayload()));
+                lines.append(objectMapper.writeValueAsString(line)).append('\n');
+            }
+
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append outbox batch to " + path, ex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tourapp.event;
+
+import com.tourapp.entity.OutboxMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps published messages in memory, for tests and local runs.
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxMessage> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        published.addAll(batch);
+    }
+
+    public List<OutboxMessage> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
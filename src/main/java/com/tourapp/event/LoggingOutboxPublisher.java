@@ -0,0 +1,22 @@
+package com.tourapp.event;
+
+import com.tourapp.entity.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Writes each message to the {@code com.tourapp.event.LoggingOutboxPublisher} logger;
+ * the default until a real broker is wired in.
+ */
+@Slf4j
+public class LoggingOutboxPublisher implements OutboxPublisher {
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            log.info("Tour {} {} v{} (outbox #{}): {}", message.getTourId(), message.getType(),
+                    message.getVersion(), message.getId(), message.getPayload());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.tourapp.event;
+
+import com.tourapp.entity.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Where {@code OutboxRelay} sends tour changes. A batch is in outbox order; if
+ * {@link #publish} throws, the whole batch stays in the outbox and is offered again,
+ * so implementations must tolerate seeing messages twice. Batches from different
+ * relays may interleave: pass each message's tour version on so consumers can order
+ * them.
+ */
+public interface OutboxPublisher {
+
+    void publish(List<OutboxMessage> batch);
+}
@@ -0,0 +1,30 @@
+package com.tourapp.event;
+
+import com.tourapp.entity.Tour;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a {@link Tour} row is inserted, updated or removed.
+ * The carried tour is a detached snapshot taken when the change was flushed,
+ * so listeners can keep it without worrying about later entity mutations.
+ * {@code previousStatus} is the status before an update, when it is known.
+ */
+public record TourChangedEvent(ChangeType type, Tour tour, Tour.TourStatus previousStatus) {
+
+    public TourChangedEvent(ChangeType type, Tour tour) {
+        this(type, tour, null);
+    }
+
+    public UUID tourId() {
+        return tour.getId();
+    }
+
+    public boolean statusChanged() {
+        return type == ChangeType.UPDATED && previousStatus != null && previousStatus != tour.getStatus();
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
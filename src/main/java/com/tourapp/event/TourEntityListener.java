@@ -0,0 +1,66 @@
+package com.tourapp.event;
+
+import com.tourapp.entity.Tour;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA lifecycle hooks for {@link Tour}. Every flushed change is turned into a
+ * {@link TourChangedEvent}; in-memory read models subscribe to it with
+ * {@code @TransactionalEventListener} so they only see committed data.
+ */
+@Component
+@RequiredArgsConstructor
+public class TourEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Remembered so an update can tell whether it changed the status
+    @PostLoad
+    public void afterLoad(Tour tour) {
+        tour.setLoadedStatus(tour.getStatus());
+    }
+
+    @PostPersist
+    public void afterInsert(Tour tour) {
+        publish(TourChangedEvent.ChangeType.CREATED, tour);
+    }
+
+    @PostUpdate
+    public void afterUpdate(Tour tour) {
+        publish(TourChangedEvent.ChangeType.UPDATED, tour);
+    }
+
+    @PostRemove
+    public void afterDelete(Tour tour) {
+        publish(TourChangedEvent.ChangeType.DELETED, tour);
+    }
+
+    private void publish(TourChangedEvent.ChangeType type, Tour tour) {
+        eventPublisher.publishEvent(new TourChangedEvent(type, snapshotOf(tour), tour.getLoadedStatus()));
+        tour.setLoadedStatus(tour.getStatus());
+    }
+
+    // Detached copy, so listeners never touch a managed entity
+    public static Tour snapshotOf(Tour tour) {
+        Tour snapshot = new Tour();
+        snapshot.setId(tour.getId());
+        snapshot.setName(tour.getName());
+        snapshot.setDescription(tour.getDescription());
+        snapshot.setDestination(tour.getDestination());
+        snapshot.setPrice(tour.getPrice());
+        snapshot.setDurationDays(tour.getDurationDays());
+        snapshot.setMaxParticipants(tour.getMaxParticipants());
+        snapshot.setStatus(tour.getStatus());
+        snapshot.setImageUrl(tour.getImageUrl());
+        snapshot.setCreatedAt(tour.getCreatedAt());
+        snapshot.setUpdatedAt(tour.getUpdatedAt());
+        snapshot.setVersion(tour.getVersion());
+        return snapshot;
+    }
+}
@@ -0,0 +1,7 @@
+package com.tourapp.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tourapp.exception;
+
+public class SyncExpiredException extends RuntimeException {
+    public SyncExpiredException(String message) {
+        super(message);
+    }
+}
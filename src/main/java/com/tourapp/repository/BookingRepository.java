@@ -0,0 +1,11 @@
+package com.tourapp.repository;
+
+import com.tourapp.entity.Booking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, UUID> {
+}
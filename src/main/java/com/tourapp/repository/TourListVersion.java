@@ -0,0 +1,10 @@
+package com.tourapp.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate validator for a filtered tour list: any insert, update or delete that
+ * affects the list changes the row count or the latest modification time.
+ */
+public record TourListVersion(long count, LocalDateTime lastModified) {
+}
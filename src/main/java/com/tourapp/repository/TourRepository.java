@@ -1,24 +1,44 @@
 package com.tourapp.repository;
 
+import com.tourapp.dto.TourDTO;
 import com.tourapp.entity.Tour;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TourRepository extends JpaRepository<Tour, UUID> {
+public interface TourRepository extends JpaRepository<Tour, UUID>, JpaSpecificationExecutor<Tour>, TourRepositoryCustom {
+
+    // Summary columns straight into DTOs: no description, no managed entities, no dirty-checking snapshots
+    String SELECT_SUMMARY = "SELECT new com.tourapp.dto.TourDTO$Summary(" +
+            "t.id, t.name, t.destination, t.price, t.durationDays, t.status, t.imageUrl) FROM Tour t";
 
     // Find tours by status
     Page<Tour> findByStatus(Tour.TourStatus status, Pageable pageable);
 
+    @Query(value = SELECT_SUMMARY, countQuery = "SELECT COUNT(t) FROM Tour t")
+    Page<TourDTO.Summary> findSummaries(Pageable pageable);
+
+    @Query(value = SELECT_SUMMARY + " WHERE t.status = :status",
+            countQuery = "SELECT COUNT(t) FROM Tour t WHERE t.status = :status")
+    Page<TourDTO.Summary> findSummariesByStatus(@Param("status") Tour.TourStatus status, Pageable pageable);
+
     // Find tours by destination (case insensitive)
     Page<Tour> findByDestinationContainingIgnoreCase(String destination, Pageable pageable);
 
@@ -31,36 +51,68 @@ public interface TourRepository extends JpaRepository<Tour, UUID> {
     // Find tours by name containing (case insensitive)
     Page<Tour> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
-    // Complex search query
-    @Query("SELECT t FROM Tour t WHERE " +
-            "(:name IS NULL OR LOWER(t.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-            "(:destination IS NULL OR LOWER(t.destination) LIKE LOWER(CONCAT('%', :destination, '%'))) AND " +
-            "(:minPrice IS NULL OR t.price >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR t.price <= :maxPrice) AND " +
-            "(:minDays IS NULL OR t.durationDays >= :minDays) AND " +
-            "(:maxDays IS NULL OR t.durationDays <= :maxDays) AND " +
-            "(:status IS NULL OR t.status = :status)")
-    Page<Tour> findToursWithFilters(
-            @Param("name") String name,
-            @Param("destination") String destination,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("minDays") Integer minDays,
-            @Param("maxDays") Integer maxDays,
-            @Param("status") Tour.TourStatus status,
-            Pageable pageable
-    );
+    // Substring match over name, destination and description (fallback for text search)
+    String TEXT_FILTER = " WHERE " +
+            "(LOWER(t.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
+            "LOWER(t.destination) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
+            "LOWER(t.description) LIKE LOWER(CONCAT('%', :text, '%'))) AND " +
+            "(:status IS NULL OR t.status = :status)";
+
+    @Query(value = SELECT_SUMMARY + TEXT_FILTER, countQuery = "SELECT COUNT(t) FROM Tour t" + TEXT_FILTER)
+    Page<TourDTO.Summary> findSummariesByText(@Param("text") String text, @Param("status") Tour.TourStatus status, Pageable pageable);
 
     // Find popular destinations
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t.destination, COUNT(t) as tourCount FROM Tour t " +
             "WHERE t.status = 'ACTIVE' " +
             "GROUP BY t.destination " +
             "ORDER BY COUNT(t) DESC")
     List<Object[]> findPopularDestinations();
 
-    // Check if tour name exists (for validation)
-    boolean existsByNameIgnoreCase(String name);
+    // Destination of every active tour (rebuilds the in-memory popular destinations aggregate)
+    @Query("SELECT t.id, t.destination FROM Tour t WHERE t.status = 'ACTIVE'")
+    List<Object[]> findActiveTourDestinations();
+
+    // Name and destination of every active tour (rebuilds the typeahead suggestions)
+    @Query("SELECT t.id, t.name, t.destination FROM Tour t WHERE t.status = 'ACTIVE'")
+    List<Object[]> findActiveTourNames();
+
+    // Validator lookup for conditional requests: version and modification time, not the entity
+    @Query("SELECT new com.tourapp.repository.TourVersion(t.version, t.updatedAt) FROM Tour t WHERE t.id = :id")
+    Optional<TourVersion> findVersionById(@Param("id") UUID id);
+
+
+    // Check if tour name exists (for validation); nameKey is LOWER(name) with a unique index,
+    // which the derived IgnoreCase query (UPPER(name) = UPPER(?)) could not use
+    @Query("SELECT COUNT(t) > 0 FROM Tour t WHERE t.nameKey = LOWER(:name)")
+    boolean existsByNameIgnoreCase(@Param("name") String name);
+
+    // Batch version of the name check: returns [id, lower-cased name] for the names already taken
+    @Query("SELECT t.id, t.nameKey FROM Tour t WHERE t.nameKey IN :names")
+    List<Object[]> findIdsByLowerCaseNameIn(@Param("names") Collection<String> names);
+
+    // Forward-only cursor over the whole catalogue (exports); must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // Full scans (export, index rebuilds) must not churn the second-level cache
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Tour t ORDER BY t.createdAt, t.id")
+    Stream<Tour> streamAll();
+
+    // Delta sync: tours changed after (at, id); the >= bound keeps it a range scan of ix_tours_updated_at_id
+    @Query("SELECT t FROM Tour t WHERE t.updatedAt >= :at AND (t.updatedAt > :at OR t.id > :id) " +
+            "ORDER BY t.updatedAt, t.id")
+    List<Tour> findChangedAfter(@Param("at") LocalDateTime at, @Param("id") UUID id, Limit limit);
+
+    // The same, limited to changes made before :until
+    @Query("SELECT t FROM Tour t WHERE t.updatedAt >= :at AND t.updatedAt < :until " +
+            "AND (t.updatedAt > :at OR t.id > :id) ORDER BY t.updatedAt, t.id")
+    List<Tour> findChangedBetween(@Param("at") LocalDateTime at, @Param("id") UUID id,
+                                  @Param("until") LocalDateTime until, Limit limit);
 
     // Find tours by status (list version)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Tour> findByStatusOrderByCreatedAtDesc(Tour.TourStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.tourapp.repository;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface TourRepositoryCustom {
+
+    // Summary projection of the matching tours; unlike an "(:p IS NULL OR ...)" JPQL filter, only
+    // the predicates that are set reach the SQL, so the planner can pick the index for them
+    Page<TourDTO.Summary> findSummariesMatching(Specification<Tour> spec, Pageable pageable);
+
+    // One UPDATE of the given attributes, applied only if the version still matches (any version if null);
+    // a status change also records the old status in previousStatus. Returns the rows updated
+    int updateIfVersionMatches(UUID id, Long version, Map<String, Object> changes);
+}
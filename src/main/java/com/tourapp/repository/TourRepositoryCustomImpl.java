@@ -0,0 +1,90 @@
+package com.tourapp.repository;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class TourRepositoryCustomImpl implements TourRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<TourDTO.Summary> findSummariesMatching(Specification<Tour> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TourDTO.Summary> query = cb.createQuery(TourDTO.Summary.class);
+        Root<Tour> root = query.from(Tour.class);
+
+        // Same columns as TourRepository.SELECT_SUMMARY
+        query.select(cb.construct(TourDTO.Summary.class,
+                root.get("id"), root.get("name"), root.get("destination"), root.get("price"),
+                root.get("durationDays"), root.get("status"), root.get("imageUrl")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<TourDTO.Summary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public int updateIfVersionMatches(UUID id, Long version, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Tour> update = cb.createCriteriaUpdate(Tour.class);
+        Root<Tour> root = update.from(Tour.class);
+
+        changes.forEach(update::set);
+        if (changes.containsKey("status")) {
+            // SET expressions see the row as it was before the UPDATE
+            update.set(root.<Tour.TourStatus>get("previousStatus"), root.<Tour.TourStatus>get("status"));
+        }
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(version == null ? cb.equal(root.get("id"), id)
+                : cb.and(cb.equal(root.get("id"), id), cb.equal(root.get("version"), version)));
+
+        // Bulk updates bypass the persistence context: write pending changes first, then drop the
+        // caller's copy of this tour (if any) without detaching anything else it still works with
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.detach(entityManager.getReference(Tour.class, id));
+        // The second-level cache is only invalidated at commit; the caller reads the row back before that
+        entityManager.getEntityManagerFactory().getCache().evict(Tour.class, id);
+        return updated;
+    }
+
+    private long count(Specification<Tour> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Tour> root = query.from(Tour.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
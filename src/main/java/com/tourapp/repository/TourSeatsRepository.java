@@ -0,0 +1,30 @@
+package com.tourapp.repository;
+
+import com.tourapp.entity.TourSeats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface TourSeatsRepository extends JpaRepository<TourSeats, UUID> {
+
+    // The database has the last word on capacity: the change applies only if the result
+    // stays within 0..maxParticipants; returns 0 when it doesn't
+    @Modifying
+    @Query("UPDATE TourSeats s SET s.reserved = s.reserved + :delta " +
+            "WHERE s.tourId = :tourId " +
+            "AND s.reserved + :delta >= 0 " +
+            "AND s.reserved + :delta <= (SELECT t.maxParticipants FROM Tour t WHERE t.id = :tourId)")
+    int addWithinCapacity(@Param("tourId") UUID tourId, @Param("delta") int delta);
+
+    // Giving seats back is never limited by capacity, which may have been lowered below
+    // the seats already reserved; returns 0 only if fewer seats are reserved than released
+    @Modifying
+    @Query("UPDATE TourSeats s SET s.reserved = s.reserved - :seats " +
+            "WHERE s.tourId = :tourId AND s.reserved - :seats >= 0")
+    int release(@Param("tourId") UUID tourId, @Param("seats") int seats);
+}
@@ -0,0 +1,62 @@
+package com.tourapp.repository;
+
+import com.tourapp.entity.Tour;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search filters as {@link Specification}s, for the filtered list, keyset scrolling and
+ * list validators. Only the filters that are actually set end up in the WHERE clause,
+ * so each query can use the index for the columns it filters on.
+ */
+public final class TourSpecifications {
+
+    private TourSpecifications() {
+    }
+
+    public static Specification<Tour> withFilters(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status) {
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (name != null) {
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
+            }
+            if (destination != null) {
+                predicates.add(cb.like(cb.lower(root.get("destination")), "%" + destination.toLowerCase() + "%"));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            if (minDays != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("durationDays"), minDays));
+            }
+            if (maxDays != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("durationDays"), maxDays));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Tour> hasStatus(Tour.TourStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
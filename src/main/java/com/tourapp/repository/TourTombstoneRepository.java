@@ -0,0 +1,32 @@
+package com.tourapp.repository;
+
+import com.tourapp.entity.TourTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TourTombstoneRepository extends JpaRepository<TourTombstone, UUID> {
+
+    // Keyset read after (at, id); the >= bound keeps it a range scan of ix_tour_tombstones_deleted_at_id
+    @Query("SELECT d FROM TourTombstone d WHERE d.deletedAt >= :at AND (d.deletedAt > :at OR d.tourId > :id) " +
+            "ORDER BY d.deletedAt, d.tourId")
+    List<TourTombstone> findDeletedAfter(@Param("at") LocalDateTime at, @Param("id") UUID id, Limit limit);
+
+    // The same, limited to deletions made before :until
+    @Query("SELECT d FROM TourTombstone d WHERE d.deletedAt >= :at AND d.deletedAt < :until " +
+            "AND (d.deletedAt > :at OR d.tourId > :id) ORDER BY d.deletedAt, d.tourId")
+    List<TourTombstone> findDeletedBetween(@Param("at") LocalDateTime at, @Param("id") UUID id,
+                                           @Param("until") LocalDateTime until, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TourTombstone d WHERE d.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,10 @@
+package com.tourapp.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Validators of a single tour (ETag from the version, Last-Modified from updatedAt),
+ * read without loading the entity.
+ */
+public record TourVersion(long version, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,52 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Compact, immutable view of a tour kept by the search index. The description is
+ * deliberately left out: it is never filtered on and would dominate the heap.
+ */
+record IndexedTour(
+        TourDTO.Summary summary,
+        String nameKey,
+        String destinationKey,
+        long priceCents,
+        int maxParticipants,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    static IndexedTour of(Tour tour) {
+        TourDTO.Summary summary = new TourDTO.Summary(
+                tour.getId(),
+                tour.getName(),
+                tour.getDestination(),
+                tour.getPrice(),
+                tour.getDurationDays(),
+                tour.getStatus(),
+                tour.getImageUrl()
+        );
+        return new IndexedTour(
+                summary,
+                normalize(tour.getName()),
+                normalize(tour.getDestination()),
+                toCents(tour.getPrice(), RoundingMode.HALF_UP),
+                tour.getMaxParticipants(),
+                tour.getCreatedAt(),
+                tour.getUpdatedAt()
+        );
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    static long toCents(BigDecimal value, RoundingMode roundingMode) {
+        return value.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+}
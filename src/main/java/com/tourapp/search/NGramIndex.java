@@ -0,0 +1,88 @@
+package com.tourapp.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Trigram posting lists over a single lower-cased text field. Candidates are an
+ * over-approximation of substring matches and must be verified by the caller.
+ */
+final class NGramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, int[]> postings;
+
+    private NGramIndex(Map<String, int[]> postings) {
+        this.postings = postings;
+    }
+
+    static NGramIndex build(int documentCount, IntFunction<String> textOf) {
+        Map<String, IntList> lists = new HashMap<>();
+        for (int doc = 0; doc < documentCount; doc++) {
+            String text = textOf.apply(doc);
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                IntList list = lists.computeIfAbsent(text.substring(i, i + GRAM_LENGTH), gram -> new IntList());
+                // Documents are visited in order, so a repeated gram only needs a tail check
+                if (list.size == 0 || list.values[list.size - 1] != doc) {
+                    list.add(doc);
+                }
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((gram, list) -> postings.put(gram, list.toArray()));
+        return new NGramIndex(postings);
+    }
+
+    /**
+     * Returns the documents containing every trigram of {@code query}, or {@code null}
+     * when the query is too short to be narrowed down by the index.
+     */
+    BitSet candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return null;
+        }
+
+        BitSet result = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            int[] docs = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (docs == null) {
+                return new BitSet();
+            }
+
+            BitSet gramDocs = new BitSet();
+            for (int doc : docs) {
+                gramDocs.set(doc);
+            }
+            if (result == null) {
+                result = gramDocs;
+            } else {
+                result.and(gramDocs);
+            }
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
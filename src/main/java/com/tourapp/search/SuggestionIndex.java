@@ -0,0 +1,125 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead over active tour names and destinations, answered from memory. Like
+ * {@link TourSearchIndex}, committed changes update a live map; the immutable
+ * {@link SuggestionSnapshot} is rebuilt lazily on the first lookup after a change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestionIndex {
+
+    private final TourRepository tourRepository;
+
+    @Value("${tour.suggest.enabled:true}")
+    private boolean enabled;
+
+    private final ConcurrentMap<UUID, ActiveTour> activeTours = new ConcurrentHashMap<>();
+    private final Set<UUID> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final AtomicLong modifications = new AtomicLong();
+
+    private volatile SuggestionSnapshot snapshot = SuggestionSnapshot.EMPTY;
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    record ActiveTour(UUID id, String name, String destination) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        loading = true;
+        try {
+            for (Object[] row : tourRepository.findActiveTourNames()) {
+                UUID id = (UUID) row[0];
+                // Changes committed while loading win over the rows read here
+                if (!changedDuringLoad.contains(id)) {
+                    activeTours.putIfAbsent(id, new ActiveTour(id, (String) row[1], (String) row[2]));
+                }
+            }
+        } finally {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+        modifications.incrementAndGet();
+        ready = true;
+
+        log.info("Suggestion index loaded with {} active tours in {} ms",
+                activeTours.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTourChanged(TourChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (loading) {
+            changedDuringLoad.add(event.tourId());
+        }
+        Tour tour = event.tour();
+        if (event.type() != TourChangedEvent.ChangeType.DELETED && tour.getStatus() == Tour.TourStatus.ACTIVE) {
+            activeTours.put(event.tourId(), new ActiveTour(event.tourId(), tour.getName(), tour.getDestination()));
+        } else {
+            activeTours.remove(event.tourId());
+        }
+        modifications.incrementAndGet();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Up to {@code limit} suggestions whose name or destination has a word starting
+     * with {@code prefix} (case and accent insensitive), most popular first.
+     */
+    public List<TourDTO.Suggestion> suggest(String prefix, int limit) {
+        if (!isReady() || prefix == null) {
+            return List.of();
+        }
+        return currentSnapshot().suggest(prefix, limit);
+    }
+
+    private SuggestionSnapshot currentSnapshot() {
+        SuggestionSnapshot current = snapshot;
+        if (current.version() == modifications.get()) {
+            return current;
+        }
+
+        synchronized (this) {
+            long version = modifications.get();
+            if (snapshot.version() != version) {
+                long start = System.nanoTime();
+                snapshot = SuggestionSnapshot.build(List.copyOf(activeTours.values()), version);
+                log.debug("Suggestion index rebuilt with {} suggestions in {} us",
+                        snapshot.size(), (System.nanoTime() - start) / 1_000);
+            }
+            return snapshot;
+        }
+    }
+}
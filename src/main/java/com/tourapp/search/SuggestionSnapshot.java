@@ -0,0 +1,203 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix structure behind {@link SuggestionIndex}. Every word start of every
+ * suggestion is a key in one sorted array, so the keys matching a prefix form a
+ * contiguous range found by binary search. Suggestions are numbered by rank (weight
+ * descending) and a segment tree over the range yields the best-ranked keys first:
+ * top-k costs O(k log n) no matter how many keys share the prefix.
+ */
+final class SuggestionSnapshot {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<TourDTO.Suggestion> BY_RANK =
+            Comparator.comparingLong(TourDTO.Suggestion::getWeight).reversed()
+                    .thenComparing(TourDTO.Suggestion::getType)
+                    .thenComparing(TourDTO.Suggestion::getText);
+
+    static final SuggestionSnapshot EMPTY = build(List.of(), -1);
+
+    private final long version;
+    private final TourDTO.Suggestion[] suggestions;
+    private final String[] keys;
+    private final int[] ranks;
+    private final int[] tree;
+    private final int leaves;
+
+    private SuggestionSnapshot(long version, TourDTO.Suggestion[] suggestions, String[] keys, int[] ranks) {
+        this.version = version;
+        this.suggestions = suggestions;
+        this.keys = keys;
+        this.ranks = ranks;
+
+        int size = 1;
+        while (size < keys.length) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, Integer.MAX_VALUE);
+        for (int i = 0; i < keys.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Builds suggestions for active tours: one per tour name and one per destination,
+     * both weighted by the number of active tours at that destination.
+     */
+    static SuggestionSnapshot build(Iterable<SuggestionIndex.ActiveTour> tours, long version) {
+        Map<String, Long> destinationCounts = new HashMap<>();
+        for (SuggestionIndex.ActiveTour tour : tours) {
+            destinationCounts.merge(tour.destination(), 1L, Long::sum);
+        }
+
+        List<TourDTO.Suggestion> all = new ArrayList<>();
+        destinationCounts.forEach((destination, count) ->
+                all.add(new TourDTO.Suggestion(destination, TourDTO.SuggestionType.DESTINATION, null, count)));
+        for (SuggestionIndex.ActiveTour tour : tours) {
+            all.add(new TourDTO.Suggestion(tour.name(), TourDTO.SuggestionType.TOUR, tour.id(),
+                    destinationCounts.get(tour.destination())));
+        }
+        all.sort(BY_RANK);
+
+        List<String> keyList = new ArrayList<>();
+        List<Integer> rankList = new ArrayList<>();
+        for (int rank = 0; rank < all.size(); rank++) {
+            String normalized = normalize(all.get(rank).getText());
+            for (int start : wordStarts(normalized)) {
+                keyList.add(normalized.substring(start));
+                rankList.add(rank);
+            }
+        }
+
+        Integer[] order = new Integer[keyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keyList::get));
+
+        String[] keys = new String[order.length];
+        int[] ranks = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            ranks[i] = rankList.get(order[i]);
+        }
+        return new SuggestionSnapshot(version, all.toArray(TourDTO.Suggestion[]::new), keys, ranks);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return suggestions.length;
+    }
+
+    List<TourDTO.Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix).strip();
+        if (normalized.isEmpty() || keys.length == 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+
+        // Ranges ordered by the rank of their best key; each pop emits one key and splits the range
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(Comparator.comparingInt(range -> ranks[range[2]]));
+        if (from < to) {
+            ranges.add(new int[]{from, to, bestIn(from, to)});
+        }
+
+        List<TourDTO.Suggestion> result = new ArrayList<>(limit);
+        int lastRank = -1;
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            int rank = ranks[best];
+
+            // A suggestion with several matching words has one key per word; equal ranks pop back to back
+            if (rank != lastRank) {
+                result.add(suggestions[rank]);
+            }
+            lastRank = rank;
+
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best, bestIn(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[]{best + 1, range[1], bestIn(best + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Integer> wordStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Position of the best-ranked key in [from, to)
+    private int bestIn(int from, int to) {
+        int best = Integer.MAX_VALUE;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = better(best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = better(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (a == Integer.MAX_VALUE) {
+            return b;
+        }
+        if (b == Integer.MAX_VALUE) {
+            return a;
+        }
+        return ranks[a] <= ranks[b] ? a : b;
+    }
+}
@@ -0,0 +1,296 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.repository.TourListVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, read-optimised copy of the catalogue. Range filters are answered by
+ * binary search over sorted primitive arrays, status by per-value bitsets and the
+ * name/destination substring filters by trigram posting lists.
+ */
+final class TourIndexSnapshot {
+
+    private static final Map<String, Comparator<IndexedTour>> SORTABLE_PROPERTIES = Map.of(
+            "id", Comparator.comparing(doc -> doc.summary().getId()),
+            "name", Comparator.comparing(doc -> doc.summary().getName()),
+            "destination", Comparator.comparing(doc -> doc.summary().getDestination()),
+            "price", Comparator.comparingLong(IndexedTour::priceCents),
+            "durationDays", Comparator.comparing(doc -> doc.summary().getDurationDays()),
+            "maxParticipants", Comparator.comparingInt(IndexedTour::maxParticipants),
+            "status", Comparator.comparing(doc -> doc.summary().getStatus().name()),
+            "createdAt", Comparator.comparing(IndexedTour::createdAt, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "updatedAt", Comparator.comparing(IndexedTour::updatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+    );
+
+    static final TourIndexSnapshot EMPTY = build(List.of(), -1);
+
+    private final long version;
+    private final IndexedTour[] docs;
+
+    private final long[] sortedPrices;
+    private final int[] priceOrder;
+    private final int[] sortedDurations;
+    private final int[] durationOrder;
+    private final Map<Tour.TourStatus, BitSet> statusBits;
+    private final NGramIndex names;
+    private final NGramIndex destinations;
+    private final TourListVersion catalogueVersion;
+
+    private final Map<String, int[]> sortOrders = new ConcurrentHashMap<>();
+
+    private TourIndexSnapshot(long version, IndexedTour[] docs) {
+        this.version = version;
+        this.docs = docs;
+
+        this.priceOrder = orderBy(SORTABLE_PROPERTIES.get("price"));
+        this.sortedPrices = new long[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            sortedPrices[i] = docs[priceOrder[i]].priceCents();
+        }
+
+        this.durationOrder = orderBy(SORTABLE_PROPERTIES.get("durationDays"));
+        this.sortedDurations = new int[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            sortedDurations[i] = docs[durationOrder[i]].summary().getDurationDays();
+        }
+
+        this.statusBits = new EnumMap<>(Tour.TourStatus.class);
+        for (Tour.TourStatus status : Tour.TourStatus.values()) {
+            statusBits.put(status, new BitSet(docs.length));
+        }
+        for (int i = 0; i < docs.length; i++) {
+            statusBits.get(docs[i].summary().getStatus()).set(i);
+        }
+
+        this.names = NGramIndex.build(docs.length, doc -> docs[doc].nameKey());
+        this.destinations = NGramIndex.build(docs.length, doc -> docs[doc].destinationKey());
+
+        BitSet all = new BitSet(docs.length);
+        all.set(0, docs.length);
+        this.catalogueVersion = versionOf(all);
+    }
+
+    static TourIndexSnapshot build(Collection<IndexedTour> documents, long version) {
+        return new TourIndexSnapshot(version, documents.toArray(IndexedTour[]::new));
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return docs.length;
+    }
+
+    /**
+     * Evaluates the same filter contract as {@code TourSpecifications.withFilters}.
+     * Returns empty when the requested ordering cannot be served from the index, in
+     * which case the caller should fall back to the database.
+     */
+    Optional<Page<TourDTO.Summary>> search(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status,
+            Pageable pageable) {
+
+        Sort sort = pageable.getSort();
+        if (sort.stream().count() > 1) {
+            return Optional.empty();
+        }
+        Sort.Order order = sort.stream().findFirst().orElse(null);
+        if (order != null && !SORTABLE_PROPERTIES.containsKey(order.getProperty())) {
+            return Optional.empty();
+        }
+
+        BitSet matches = matching(name, destination, minPrice, maxPrice, minDays, maxDays, status);
+        return Optional.of(page(matches, order, pageable));
+    }
+
+    /**
+     * Count and latest {@code updatedAt} of the tours matching the filters: the ETag of
+     * the list endpoints, without a query.
+     */
+    TourListVersion listVersion(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status) {
+
+        // The unfiltered list is asked for most, so it is worked out once per snapshot
+        if (name == null && destination == null && minPrice == null && maxPrice == null
+                && minDays == null && maxDays == null && status == null) {
+            return catalogueVersion;
+        }
+        return versionOf(matching(name, destination, minPrice, maxPrice, minDays, maxDays, status));
+    }
+
+    private TourListVersion versionOf(BitSet matches) {
+        LocalDateTime lastModified = null;
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            LocalDateTime updatedAt = docs[doc].updatedAt();
+            if (updatedAt != null && (lastModified == null || updatedAt.isAfter(lastModified))) {
+                lastModified = updatedAt;
+            }
+        }
+        return new TourListVersion(matches.cardinality(), lastModified);
+    }
+
+    private BitSet matching(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status) {
+
+        BitSet matches = new BitSet(docs.length);
+        matches.set(0, docs.length);
+
+        if (status != null) {
+            matches.and(statusBits.get(status));
+        }
+        if (minPrice != null || maxPrice != null) {
+            long from = minPrice == null ? Long.MIN_VALUE : IndexedTour.toCents(minPrice, RoundingMode.CEILING);
+            long to = maxPrice == null ? Long.MAX_VALUE : IndexedTour.toCents(maxPrice, RoundingMode.FLOOR);
+            matches.and(rangeBits(priceOrder, lowerBound(sortedPrices, from), upperBound(sortedPrices, to)));
+        }
+        if (minDays != null || maxDays != null) {
+            int from = minDays == null ? Integer.MIN_VALUE : minDays;
+            int to = maxDays == null ? Integer.MAX_VALUE : maxDays;
+            matches.and(rangeBits(durationOrder, lowerBound(sortedDurations, from), upperBound(sortedDurations, to)));
+        }
+        if (name != null) {
+            applyTextFilter(matches, names, IndexedTour.normalize(name), IndexedTour::nameKey);
+        }
+        if (destination != null) {
+            applyTextFilter(matches, destinations, IndexedTour.normalize(destination), IndexedTour::destinationKey);
+        }
+
+        return matches;
+    }
+
+    private void applyTextFilter(BitSet matches, NGramIndex index, String query,
+                                 Function<IndexedTour, String> field) {
+        BitSet candidates = index.candidates(query);
+        if (candidates != null) {
+            matches.and(candidates);
+        }
+        // Trigram hits may come from non-adjacent positions, so confirm the substring
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            if (!field.apply(docs[doc]).contains(query)) {
+                matches.clear(doc);
+            }
+        }
+    }
+
+    private Page<TourDTO.Summary> page(BitSet matches, Sort.Order order, Pageable pageable) {
+        int total = matches.cardinality();
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : total;
+
+        List<TourDTO.Summary> content = new ArrayList<>(Math.min(limit, total));
+        if (skip < total) {
+            int[] sequence = order == null ? null : sortOrder(order.getProperty());
+            boolean descending = order != null && order.isDescending();
+            for (int i = 0; i < docs.length && content.size() < limit; i++) {
+                int position = descending ? docs.length - 1 - i : i;
+                int doc = sequence == null ? position : sequence[position];
+                if (matches.get(doc) && skip-- <= 0) {
+                    content.add(docs[doc].summary());
+                }
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private int[] sortOrder(String property) {
+        return sortOrders.computeIfAbsent(property, key -> orderBy(SORTABLE_PROPERTIES.get(key)));
+    }
+
+    private int[] orderBy(Comparator<IndexedTour> comparator) {
+        Comparator<IndexedTour> total = comparator.thenComparing(doc -> doc.summary().getId());
+        Integer[] boxed = new Integer[docs.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> total.compare(docs[a], docs[b]));
+
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    private BitSet rangeBits(int[] order, int from, int to) {
+        BitSet bits = new BitSet(docs.length);
+        for (int i = from; i < to; i++) {
+            bits.set(order[i]);
+        }
+        return bits;
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, long key) {
+        return key == Long.MAX_VALUE ? values.length : lowerBound(values, key + 1);
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] values, int key) {
+        return key == Integer.MAX_VALUE ? values.length : lowerBound(values, key + 1);
+    }
+}
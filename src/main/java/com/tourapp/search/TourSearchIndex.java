@@ -0,0 +1,184 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourListVersion;
+import com.tourapp.repository.TourRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional in-process engine behind {@code TourService.searchTours}. Committed
+ * changes are applied to a live document map; queries run against an immutable
+ * snapshot that a background thread rebuilds {@code tour.search.index.rebuild-delay}
+ * after the first change it has not seen, so bursts of writes cost a single rebuild.
+ * Searches never wait for it: until it is published they are answered, without
+ * locking, from the previous snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TourSearchIndex {
+
+    private final TourRepository tourRepository;
+
+    @Value("${tour.search.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tour.search.index.rebuild-delay:100ms}")
+    private Duration rebuildDelay = Duration.ofMillis(100);
+
+    private final ConcurrentMap<UUID, IndexedTour> documents = new ConcurrentHashMap<>();
+    private final Set<UUID> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private final AtomicLong modifications = new AtomicLong();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tour-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile TourIndexSnapshot snapshot = TourIndexSnapshot.EMPTY;
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        loading = true;
+        try {
+            for (Tour tour : tourRepository.findAll()) {
+                // Changes committed while loading win over the rows read here, deletions included
+                if (!changedDuringLoad.contains(tour.getId())) {
+                    documents.putIfAbsent(tour.getId(), IndexedTour.of(tour));
+                }
+            }
+        } finally {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+        rebuild();
+        ready = true;
+
+        log.info("Tour search index loaded with {} tours in {} ms",
+                documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTourChanged(TourChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (loading) {
+            changedDuringLoad.add(event.tourId());
+        }
+        if (event.type() == TourChangedEvent.ChangeType.DELETED) {
+            documents.remove(event.tourId());
+        } else {
+            documents.put(event.tourId(), IndexedTour.of(event.tour()));
+        }
+        modifications.incrementAndGet();
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, rebuildDelay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Answers a search from memory, or returns empty when the index is not ready or
+     * cannot honour the requested sort.
+     */
+    public Optional<Page<TourDTO.Summary>> search(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status,
+            Pageable pageable) {
+
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        return currentSnapshot().search(name, destination, minPrice, maxPrice, minDays, maxDays, status, pageable);
+    }
+
+    /**
+     * Count and latest {@code updatedAt} of the tours matching the filters, or empty
+     * when the index is not ready.
+     */
+    public Optional<TourListVersion> listVersion(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status) {
+
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        return Optional.of(currentSnapshot().listVersion(name, destination, minPrice, maxPrice, minDays, maxDays, status));
+    }
+
+    // Whether the published snapshot includes every change applied so far
+    boolean isUpToDate() {
+        return snapshot.version() == modifications.get();
+    }
+
+    private TourIndexSnapshot currentSnapshot() {
+        return snapshot;
+    }
+
+    // Runs on load and on the rebuilder thread, never on a search
+    private synchronized void rebuild() {
+        // Cleared first: a change applied while building schedules the next rebuild
+        rebuildScheduled.set(false);
+        try {
+            long start = System.nanoTime();
+            long version = modifications.get();
+            snapshot = TourIndexSnapshot.build(documents.values(), version);
+            log.debug("Tour search index rebuilt with {} tours in {} us",
+                    snapshot.size(), (System.nanoTime() - start) / 1_000);
+        } catch (RuntimeException ex) {
+            log.error("Tour search index rebuild failed; searches keep the previous snapshot", ex);
+        }
+    }
+}
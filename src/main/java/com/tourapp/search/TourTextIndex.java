@@ -0,0 +1,337 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.exception.BadRequestException;
+import com.tourapp.repository.TourRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over tour name, destination and description, answering
+ * {@code /api/v1/tours/search/text} with relevance-ranked results. Text is lower-cased
+ * and accent-folded ("São Paulo" matches "sao paulo") and every query term also
+ * matches as a prefix. The index is rebuilt from the database on startup and kept in
+ * sync with committed tour changes; the summary fields are stored so hits are served
+ * without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TourTextIndex {
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESTINATION = "destination";
+    static final String DESCRIPTION = "description";
+    static final String STATUS = "status";
+    static final String PRICE = "price";
+    static final String DURATION_DAYS = "durationDays";
+    static final String IMAGE_URL = "imageUrl";
+
+    // Exact term matches weigh twice as much as prefix matches on the same field
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+    static {
+        FIELD_BOOSTS.put(NAME, 3f);
+        FIELD_BOOSTS.put(DESTINATION, 2f);
+        FIELD_BOOSTS.put(DESCRIPTION, 1f);
+    }
+
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final TourRepository tourRepository;
+    private final EntityManager entityManager;
+
+    @Value("${tour.search.text.enabled:true}")
+    private boolean enabled;
+
+    // Empty keeps the index in memory
+    @Value("${tour.search.text.directory:}")
+    private String directoryPath;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final AtomicLong modifications = new AtomicLong();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final Set<UUID> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        directory = directoryPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(directoryPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        loading = true;
+        long count = 0;
+        try (Stream<Tour> tours = tourRepository.streamAll()) {
+            for (Iterator<Tour> iterator = tours.iterator(); iterator.hasNext(); ) {
+                Tour tour = iterator.next();
+                // Changes committed while loading win over the rows read here
+                if (!changedDuringLoad.contains(tour.getId())) {
+                    writer.updateDocument(new Term(ID, tour.getId().toString()), toDocument(tour));
+                    count++;
+                }
+                entityManager.detach(tour);
+            }
+        } finally {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+        modifications.incrementAndGet();
+        ready = true;
+
+        log.info("Tour text index loaded with {} tours in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTourChanged(TourChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (loading) {
+            changedDuringLoad.add(event.tourId());
+        }
+        try {
+            Term id = new Term(ID, event.tourId().toString());
+            if (event.type() == TourChangedEvent.ChangeType.DELETED) {
+                writer.deleteDocuments(id);
+            } else {
+                writer.updateDocument(id, toDocument(event.tour()));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        modifications.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        ready = false;
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Relevance-ranked search, or empty when the index is not ready. Every term of
+     * {@code text} must match one of the indexed fields.
+     */
+    public Optional<Page<TourDTO.Summary>> search(String text, Tour.TourStatus status, Pageable pageable) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Text search results are limited to the first " + MAX_RESULT_WINDOW + " hits");
+        }
+
+        Query query = buildQuery(text, status);
+        if (query == null) {
+            return Optional.of(Page.empty(pageable));
+        }
+
+        try {
+            refreshIfNeeded();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, (int) window);
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(query);
+
+                StoredFields storedFields = searcher.storedFields();
+                List<TourDTO.Summary> content = new ArrayList<>();
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = (int) pageable.getOffset(); i < hits.length; i++) {
+                    content.add(toSummary(storedFields.document(hits[i].doc)));
+                }
+                return Optional.of(new PageImpl<>(content, pageable, total));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    Query buildQuery(String text, Tour.TourStatus status) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            FIELD_BOOSTS.forEach((field, boost) -> {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost * 2), BooleanClause.Occur.SHOULD);
+                anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        if (status != null) {
+            query.add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+
+    private void refreshIfNeeded() throws IOException {
+        long version = modifications.get();
+        if (refreshed.get() != version) {
+            searcherManager.maybeRefreshBlocking();
+            refreshed.set(version);
+        }
+    }
+
+    private static Document toDocument(Tour tour) {
+        Document document = new Document();
+        document.add(new StringField(ID, tour.getId().toString(), Field.Store.YES));
+        document.add(new TextField(NAME, tour.getName(), Field.Store.YES));
+        document.add(new TextField(DESTINATION, tour.getDestination(), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, tour.getDescription(), Field.Store.NO));
+        document.add(new StringField(STATUS, tour.getStatus().name(), Field.Store.YES));
+        document.add(new StoredField(PRICE, tour.getPrice().toPlainString()));
+        document.add(new StoredField(DURATION_DAYS, tour.getDurationDays()));
+        if (tour.getImageUrl() != null) {
+            document.add(new StoredField(IMAGE_URL, tour.getImageUrl()));
+        }
+        return document;
+    }
+
+    private static TourDTO.Summary toSummary(Document document) {
+        return new TourDTO.Summary(
+                UUID.fromString(document.get(ID)),
+                document.get(NAME),
+                document.get(DESTINATION),
+                new BigDecimal(document.get(PRICE)),
+                document.getField(DURATION_DAYS).numericValue().intValue(),
+                Tour.TourStatus.valueOf(document.get(STATUS)),
+                document.get(IMAGE_URL)
+        );
+    }
+
+    // Standard tokenization, lower-casing and accent folding, applied to documents and queries alike
+    static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
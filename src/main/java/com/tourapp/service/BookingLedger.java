@@ -0,0 +1,150 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Booking;
+import com.tourapp.entity.Tour;
+import com.tourapp.entity.TourSeats;
+import com.tourapp.exception.ResourceNotFoundException;
+import com.tourapp.repository.BookingRepository;
+import com.tourapp.repository.TourRepository;
+import com.tourapp.repository.TourSeatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Database side of bookings, one transaction per call. {@link BookingService} admits
+ * bookings in memory and hands them over here in batches; the guarded seat UPDATE in
+ * {@link TourSeatsRepository#addWithinCapacity} decides what is actually kept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BookingLedger {
+
+    private final TourRepository tourRepository;
+    private final TourSeatsRepository tourSeatsRepository;
+    private final BookingRepository bookingRepository;
+    private final TourService tourService;
+
+    record Seats(int capacity, int reserved, Tour.TourStatus status) {
+    }
+
+    // Read only: a tour without a tour_seats row has no seats taken yet
+    @Transactional(readOnly = true)
+    public Seats load(UUID tourId) {
+        Tour tour = tourRepository.findById(tourId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + tourId));
+        int reserved = tourSeatsRepository.findById(tourId)
+                .map(TourSeats::getReserved)
+                .orElse(0);
+        return new Seats(tour.getMaxParticipants(), reserved, tour.getStatus());
+    }
+
+    /**
+     * Writes the bookings of one tour and adds the seats of the PENDING ones with a single
+     * guarded UPDATE; they are stored as CONFIRMED. If that would overbook (another
+     * instance took seats, or capacity was lowered), they are admitted one at a time in
+     * order and the ones that no longer fit are stored as REJECTED. Returns the rejected
+     * bookings.
+     */
+    public List<Booking> write(UUID tourId, List<Booking> bookings) {
+        int seats = 0;
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == Booking.BookingStatus.PENDING) {
+                seats += booking.getSeats();
+            }
+        }
+
+        List<Booking> rejected = new ArrayList<>();
+        if (seats > 0) {
+            if (!tourSeatsRepository.existsById(tourId)) {
+                // First seats on this tour; an instance inserting it too fails this flush, the next one retries
+                tourSeatsRepository.saveAndFlush(new TourSeats(tourId, 0));
+            }
+            boolean allFit = tourSeatsRepository.addWithinCapacity(tourId, seats) > 0;
+            for (Booking booking : bookings) {
+                if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+                    continue;
+                }
+                if (allFit || tourSeatsRepository.addWithinCapacity(tourId, booking.getSeats()) > 0) {
+                    booking.setStatus(Booking.BookingStatus.CONFIRMED);
+                } else {
+                    booking.setStatus(Booking.BookingStatus.REJECTED);
+                    rejected.add(booking);
+                }
+            }
+            if (!allFit) {
+                log.warn("Tour {}: {} of {} bookings rejected by the database capacity check",
+                        tourId, rejected.size(), bookings.size());
+            }
+        }
+
+        bookingRepository.saveAll(bookings);
+        return rejected;
+    }
+
+    @Transactional(readOnly = true)
+    public Booking find(UUID tourId, UUID bookingId) {
+        return bookingRepository.findById(bookingId)
+                .filter(booking -> booking.getTourId().equals(tourId))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
+    }
+
+    /**
+     * Cancels a written booking and gives its seats back in the same transaction.
+     * Returns the seats released: none if it was not confirmed (already cancelled or rejected).
+     */
+    public int cancel(UUID tourId, UUID bookingId) {
+        Booking booking = find(tourId, bookingId);
+        if (booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+            return 0;
+        }
+
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        booking.setCancelledAt(LocalDateTime.now());
+        bookingRepository.save(booking);
+        if (tourSeatsRepository.release(tourId, booking.getSeats()) == 0) {
+            // Rolls the cancellation back rather than report seats the database still counts
+            throw new IllegalStateException("Tour " + tourId + " has fewer seats reserved than booking "
+                    + bookingId + " holds");
+        }
+        return booking.getSeats();
+    }
+
+    /**
+     * Flips the tour to FULL once every seat is taken, and back to ACTIVE when seats are
+     * released. Goes through {@link TourService#patchTour} so caches, indexes and events
+     * see the change like any other edit.
+     */
+    public void syncStatus(UUID tourId) {
+        Tour tour = tourRepository.findById(tourId).orElse(null);
+        TourSeats seats = tourSeatsRepository.findById(tourId).orElse(null);
+        if (tour == null || seats == null) {
+            return;
+        }
+
+        boolean soldOut = seats.getReserved() >= tour.getMaxParticipants();
+        Tour.TourStatus status = tour.getStatus();
+        if (soldOut && status == Tour.TourStatus.ACTIVE) {
+            patchStatus(tour, Tour.TourStatus.FULL);
+        } else if (!soldOut && status == Tour.TourStatus.FULL) {
+            patchStatus(tour, Tour.TourStatus.ACTIVE);
+        }
+    }
+
+    private void patchStatus(Tour tour, Tour.TourStatus status) {
+        TourDTO.Patch patch = new TourDTO.Patch();
+        patch.setStatus(status);
+        // Conditional on the version read above, so a concurrent edit wins and this retries later
+        tourService.patchTour(tour.getId(), patch, tour.getVersion());
+        log.info("Tour {} is now {}", tour.getId(), status);
+    }
+}
@@ -0,0 +1,534 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Booking;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.exception.ResourceNotFoundException;
+import com.tourapp.exception.SeatsUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Seat bookings. Each tour has an in-memory seat counter, updated with compare-and-set,
+ * that admits or refuses a booking without touching the database, so a flash sale is
+ * never serialized on a row lock. Admitted bookings are PENDING until {@link #flush()}
+ * writes them in batches; the database's own capacity check then has the final word and
+ * they become CONFIRMED or REJECTED. When it turns bookings down, the tour's counter is
+ * reloaded from the database. The tour is flipped to FULL (and back) once the flushed
+ * seats say so. A PENDING booking lost in a crash before its flush is simply not found.
+ *
+ * <p>Cancellations are rare and take the flush lock: a booking is then either still
+ * waiting in memory or already committed, never in between.
+ *
+ * <p>Holds take seats from the same counter for a limited time, so checkout can keep
+ * them while payment goes through. They live in memory only; a {@link TimingWheel}
+ * expires them and their seats go back to the counters one sum per tour and tick.
+ * Confirming a hold turns it into a booking without checking capacity again.
+ */
+@Service
+@Slf4j
+public class BookingService {
+
+    private final BookingLedger ledger;
+
+    private final ConcurrentMap<UUID, SeatCounter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Booking> unflushed = new ConcurrentHashMap<>();
+    private final Set<UUID> statusChecks = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ConcurrentMap<UUID, Hold> holds = new ConcurrentHashMap<>();
+    private final TimingWheel<Hold> holdExpiry;
+    private final Duration holdTtl;
+
+    private final Counter booked;
+    private final Counter soldOut;
+    private final Counter closed;
+    private final Counter rejected;
+    private final DistributionSummary flushSize;
+    private final Counter held;
+    private final Counter holdsConfirmed;
+    private final Counter holdsReleased;
+    private final Counter holdsExpired;
+    private final DistributionSummary expiryBatch;
+
+    @Autowired
+    public BookingService(BookingLedger ledger, MeterRegistry meterRegistry,
+                          @Value("${tour.booking.hold.ttl:10m}") Duration holdTtl,
+                          @Value("${tour.booking.hold.tick:100ms}") Duration holdTick) {
+        this(ledger, meterRegistry, holdTtl, holdTick, System::nanoTime);
+    }
+
+    BookingService(BookingLedger ledger, MeterRegistry meterRegistry,
+                   Duration holdTtl, Duration holdTick, LongSupplier nanoClock) {
+        this.ledger = ledger;
+        this.holdTtl = holdTtl;
+        // 64 slots on 4 levels: with 100ms ticks, covers about 19 days before wrapping
+        this.holdExpiry = new TimingWheel<>("booking-hold-expiry", holdTick, 64, 4, this::expire, nanoClock);
+        this.booked = requests(meterRegistry, "booked");
+        this.soldOut = requests(meterRegistry, "sold_out");
+        this.closed = requests(meterRegistry, "closed");
+        this.rejected = Counter.builder("tour.booking.rejected")
+                .description("Pending bookings turned down at flush: no room left in the database, or tour deleted")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("tour.booking.flush.size")
+                .description("Bookings written per tour and flush")
+                .register(meterRegistry);
+        Gauge.builder("tour.booking.unflushed", unflushed, Map::size)
+                .description("Accepted bookings not yet written to the database")
+                .register(meterRegistry);
+
+        this.held = holds(meterRegistry, "held");
+        this.holdsConfirmed = holds(meterRegistry, "confirmed");
+        this.holdsReleased = holds(meterRegistry, "released");
+        this.holdsExpired = holds(meterRegistry, "expired");
+        this.expiryBatch = DistributionSummary.builder("tour.booking.holds.expiry.batch")
+                .description("Holds expired per timing wheel tick")
+                .register(meterRegistry);
+        Gauge.builder("tour.booking.holds.active", holds, Map::size)
+                .description("Holds keeping seats until confirmed, released or expired")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startHoldExpiry() {
+        holdExpiry.start();
+    }
+
+    public TourDTO.BookingResponse reserve(UUID tourId, int seats) {
+        log.debug("Reserving {} seats on tour {}", seats, tourId);
+
+        SeatCounter counter = counterFor(tourId);
+        if (!counter.isOpen()) {
+            closed.increment();
+            throw new SeatsUnavailableException("Tour " + tourId + " is not open for booking");
+        }
+
+        int left = counter.tryReserve(seats);
+        if (left < 0) {
+            soldOut.increment();
+            throw new SeatsUnavailableException("Not enough seats left on tour " + tourId);
+        }
+
+        Booking booking = new Booking(UUID.randomUUID(), tourId, seats, Booking.BookingStatus.PENDING,
+                LocalDateTime.now(), null, null);
+        unflushed.put(booking.getId(), booking);
+        booked.increment();
+        return mapToResponse(booking, left);
+    }
+
+    /**
+     * Takes seats for {@link #holdTtl}; they are back on sale unless the hold is
+     * confirmed or released first.
+     */
+    public TourDTO.HoldResponse hold(UUID tourId, int seats) {
+        log.debug("Holding {} seats on tour {}", seats, tourId);
+
+        SeatCounter counter = counterFor(tourId);
+        if (!counter.isOpen()) {
+            throw new SeatsUnavailableException("Tour " + tourId + " is not open for booking");
+        }
+        int left = counter.tryReserve(seats);
+        if (left < 0) {
+            throw new SeatsUnavailableException("Not enough seats left on tour " + tourId);
+        }
+
+        Hold hold = new Hold(UUID.randomUUID(), tourId, seats, LocalDateTime.now().plus(holdTtl));
+        holds.put(hold.id, hold);
+        holdExpiry.schedule(hold, holdTtl);
+        held.increment();
+        return mapToResponse(hold, left);
+    }
+
+    public TourDTO.HoldResponse getHold(UUID tourId, UUID holdId) {
+        return mapToResponse(findHold(tourId, holdId), counterFor(tourId).available());
+    }
+
+    /**
+     * Turns a hold into a booking with the seats it already has; like any booking it is
+     * PENDING until flushed.
+     */
+    public TourDTO.BookingResponse confirmHold(UUID tourId, UUID holdId) {
+        log.info("Confirming hold {} on tour {}", holdId, tourId);
+
+        Hold hold = findHold(tourId, holdId);
+        SeatCounter counter = counterFor(tourId);
+        if (!counter.isOpen()) {
+            release(hold, counter);
+            throw new SeatsUnavailableException("Tour " + tourId + " is not open for booking");
+        }
+        if (!hold.settle(TourDTO.HoldStatus.CONFIRMED)) {
+            // Expired or released meanwhile
+            throw new ResourceNotFoundException("Hold not found or expired with ID: " + holdId);
+        }
+        holds.remove(holdId);
+
+        Booking booking = new Booking(UUID.randomUUID(), tourId, hold.seats, Booking.BookingStatus.PENDING,
+                LocalDateTime.now(), null, null);
+        unflushed.put(booking.getId(), booking);
+        holdsConfirmed.increment();
+        booked.increment();
+        return mapToResponse(booking, counter.available());
+    }
+
+    /**
+     * Gives the seats of a hold back before it expires.
+     */
+    public void releaseHold(UUID tourId, UUID holdId) {
+        log.info("Releasing hold {} on tour {}", holdId, tourId);
+
+        release(findHold(tourId, holdId), counterFor(tourId));
+    }
+
+    public TourDTO.BookingResponse getBooking(UUID tourId, UUID bookingId) {
+        Booking booking = unflushed.get(bookingId);
+        if (booking == null || !booking.getTourId().equals(tourId)) {
+            booking = ledger.find(tourId, bookingId);
+        }
+        return mapToResponse(booking, counterFor(tourId).available());
+    }
+
+    /**
+     * Gives the seats of a pending or confirmed booking back; cancelling it again is a no-op.
+     */
+    public void cancel(UUID tourId, UUID bookingId) {
+        log.info("Cancelling booking {} on tour {}", bookingId, tourId);
+
+        SeatCounter counter = counterFor(tourId);
+        flushLock.lock();
+        try {
+            Booking pending = unflushed.get(bookingId);
+            if (pending != null && pending.getTourId().equals(tourId)) {
+                // Not written yet: it will be stored as cancelled and its seats never counted
+                if (pending.getStatus() == Booking.BookingStatus.PENDING) {
+                    pending.setStatus(Booking.BookingStatus.CANCELLED);
+                    pending.setCancelledAt(LocalDateTime.now());
+                    counter.release(pending.getSeats());
+                }
+                return;
+            }
+
+            int released = ledger.cancel(tourId, bookingId);
+            if (released > 0) {
+                counter.release(released);
+                statusChecks.add(tourId);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public TourDTO.Availability getAvailability(UUID tourId) {
+        SeatCounter counter = counterFor(tourId);
+        return new TourDTO.Availability(tourId, counter.capacity, counter.reserved.get(),
+                counter.available(), counter.status);
+    }
+
+    /**
+     * Writes the bookings accepted since the last flush, one transaction per tour, then
+     * brings the status of the touched tours in line with their seats.
+     */
+    @Scheduled(fixedDelayString = "${tour.booking.flush-interval-ms:200}",
+            initialDelayString = "${tour.booking.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<UUID, List<Booking>> byTour = new LinkedHashMap<>();
+            for (Booking booking : unflushed.values()) {
+                byTour.computeIfAbsent(booking.getTourId(), id -> new ArrayList<>()).add(booking);
+            }
+            byTour.forEach(this::write);
+
+            for (UUID tourId : List.copyOf(statusChecks)) {
+                try {
+                    ledger.syncStatus(tourId);
+                    statusChecks.remove(tourId);
+                } catch (RuntimeException ex) {
+                    log.warn("Could not update the status of tour {}, retrying: {}", tourId, ex.getMessage());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        holdExpiry.close();
+        if (!unflushed.isEmpty()) {
+            log.info("Writing {} pending bookings before shutdown", unflushed.size());
+            flush();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTourChanged(TourChangedEvent event) {
+        if (event.type() == TourChangedEvent.ChangeType.DELETED) {
+            SeatCounter counter = counters.remove(event.tourId());
+            if (counter != null) {
+                counter.status = Tour.TourStatus.CANCELLED;
+            }
+            return;
+        }
+
+        SeatCounter counter = counters.get(event.tourId());
+        if (counter != null) {
+            counter.capacity = event.tour().getMaxParticipants();
+            counter.status = event.tour().getStatus();
+        }
+    }
+
+    /**
+     * Timing wheel callback: everything that came due in one tick. Holds settled in the
+     * meantime are skipped; the rest give their seats back with one update per tour.
+     */
+    void expire(List<Hold> due) {
+        Map<UUID, Integer> seatsByTour = new HashMap<>();
+        int expired = 0;
+        for (Hold hold : due) {
+            if (hold.settle(TourDTO.HoldStatus.EXPIRED)) {
+                holds.remove(hold.id);
+                seatsByTour.merge(hold.tourId, hold.seats, Integer::sum);
+                expired++;
+            }
+        }
+
+        seatsByTour.forEach((tourId, seats) -> {
+            SeatCounter counter = counters.get(tourId);
+            if (counter != null) {
+                counter.release(seats);
+            }
+        });
+        if (expired > 0) {
+            holdsExpired.increment(expired);
+            expiryBatch.record(expired);
+            log.debug("Expired {} holds on {} tours", expired, seatsByTour.size());
+        }
+    }
+
+    // Turns the wheel on the caller's thread; for tests that drive the clock themselves
+    void tickHoldExpiry() {
+        holdExpiry.advance();
+    }
+
+    private void release(Hold hold, SeatCounter counter) {
+        if (hold.settle(TourDTO.HoldStatus.RELEASED)) {
+            holds.remove(hold.id);
+            counter.release(hold.seats);
+            holdsReleased.increment();
+        }
+    }
+
+    private Hold findHold(UUID tourId, UUID holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || !hold.tourId.equals(tourId)) {
+            throw new ResourceNotFoundException("Hold not found or expired with ID: " + holdId);
+        }
+        return hold;
+    }
+
+    private void write(UUID tourId, List<Booking> bookings) {
+        if (!counters.containsKey(tourId)) {
+            // Tour deleted since these were accepted: there is nothing left to write them against
+            int turnedDown = 0;
+            for (Booking booking : bookings) {
+                if (booking.getStatus() == Booking.BookingStatus.PENDING) {
+                    booking.setStatus(Booking.BookingStatus.REJECTED);
+                    turnedDown++;
+                }
+                unflushed.remove(booking.getId());
+            }
+            rejected.increment(turnedDown);
+            log.warn("Rejected {} unwritten bookings of deleted tour {}", turnedDown, tourId);
+            return;
+        }
+
+        bookings.sort(Comparator.comparing(Booking::getCreatedAt));
+        // The ledger decides on copies, so readers see PENDING until its transaction commits
+        List<Booking> batch = bookings.stream().map(BookingService::copy).toList();
+        List<Booking> turnedDown;
+        try {
+            turnedDown = ledger.write(tourId, batch);
+        } catch (RuntimeException ex) {
+            log.warn("Could not write {} bookings of tour {}, retrying: {}", bookings.size(), tourId, ex.getMessage());
+            return;
+        }
+
+        rejected.increment(turnedDown.size());
+        flushSize.record(bookings.size());
+        bookings.forEach(booking -> unflushed.remove(booking.getId()));
+        statusChecks.add(tourId);
+
+        SeatCounter counter = counters.get(tourId);
+        if (counter != null && !turnedDown.isEmpty()) {
+            reseed(tourId, counter);
+        }
+    }
+
+    /**
+     * After the database turned bookings down, seats were taken that this instance did
+     * not count (another instance, or a lowered capacity). Handing the rejected seats
+     * back would keep selling seats that are gone, so the counter starts again from
+     * {@code tour_seats.reserved} plus what is still only in memory here. A booking
+     * admitted while this runs may be missed; the next flush's guard catches it.
+     */
+    private void reseed(UUID tourId, SeatCounter counter) {
+        int inMemory = 0;
+        for (Hold hold : holds.values()) {
+            if (hold.tourId.equals(tourId) && hold.status.get() == TourDTO.HoldStatus.HELD) {
+                inMemory += hold.seats;
+            }
+        }
+        for (Booking booking : unflushed.values()) {
+            if (booking.getTourId().equals(tourId) && booking.getStatus() == Booking.BookingStatus.PENDING) {
+                inMemory += booking.getSeats();
+            }
+        }
+
+        try {
+            BookingLedger.Seats seats = ledger.load(tourId);
+            counter.reseed(seats.capacity(), seats.reserved() + inMemory);
+            log.info("Tour {}: seat counter reloaded, {} of {} seats taken",
+                    tourId, seats.reserved() + inMemory, seats.capacity());
+        } catch (RuntimeException ex) {
+            // Deleted meanwhile, or the database is unavailable: the guard still holds
+            log.warn("Could not reload the seat counter of tour {}: {}", tourId, ex.getMessage());
+        }
+    }
+
+    private SeatCounter counterFor(UUID tourId) {
+        SeatCounter counter = counters.get(tourId);
+        if (counter != null) {
+            return counter;
+        }
+        // First use of this tour: seed from the database (not found propagates as 404). Read
+        // outside the map, so no bin of it stays locked while the query runs
+        BookingLedger.Seats seats = ledger.load(tourId);
+        SeatCounter loaded = new SeatCounter(seats.capacity(), seats.reserved(), seats.status());
+        SeatCounter raced = counters.putIfAbsent(tourId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private static Booking copy(Booking booking) {
+        return new Booking(booking.getId(), booking.getTourId(), booking.getSeats(), booking.getStatus(),
+                booking.getCreatedAt(), booking.getCancelledAt(), booking.getVersion());
+    }
+
+    private static TourDTO.BookingResponse mapToResponse(Booking booking, int seatsLeft) {
+        return new TourDTO.BookingResponse(booking.getId(), booking.getTourId(), booking.getSeats(),
+                booking.getStatus(), booking.getCreatedAt(), booking.getCancelledAt(), seatsLeft);
+    }
+
+    private static TourDTO.HoldResponse mapToResponse(Hold hold, int seatsLeft) {
+        return new TourDTO.HoldResponse(hold.id, hold.tourId, hold.seats, hold.status.get(),
+                hold.expiresAt, seatsLeft);
+    }
+
+    private static Counter holds(MeterRegistry registry, String outcome) {
+        return Counter.builder("tour.booking.holds")
+                .description("Seat holds, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String outcome) {
+        return Counter.builder("tour.booking.requests")
+                .description("Booking attempts, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // Settles exactly once: confirm, release and expiry race on the status
+    static final class Hold {
+        private final UUID id;
+        private final UUID tourId;
+        private final int seats;
+        private final LocalDateTime expiresAt;
+        private final AtomicReference<TourDTO.HoldStatus> status = new AtomicReference<>(TourDTO.HoldStatus.HELD);
+
+        Hold(UUID id, UUID tourId, int seats, LocalDateTime expiresAt) {
+            this.id = id;
+            this.tourId = tourId;
+            this.seats = seats;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean settle(TourDTO.HoldStatus outcome) {
+            return status.compareAndSet(TourDTO.HoldStatus.HELD, outcome);
+        }
+    }
+
+    static final class SeatCounter {
+        private final AtomicInteger reserved;
+        private volatile int capacity;
+        private volatile Tour.TourStatus status;
+
+        SeatCounter(int capacity, int reserved, Tour.TourStatus status) {
+            this.capacity = capacity;
+            this.reserved = new AtomicInteger(reserved);
+            this.status = status;
+        }
+
+        // FULL still takes bookings once seats free up; the capacity check refuses them until then
+        boolean isOpen() {
+            return status == Tour.TourStatus.ACTIVE || status == Tour.TourStatus.FULL;
+        }
+
+        /**
+         * Takes the seats if they fit; returns the seats left afterwards, or -1. Only
+         * retries when another booking on the same tour changed the count in between.
+         */
+        int tryReserve(int seats) {
+            while (true) {
+                int current = reserved.get();
+                int next = current + seats;
+                if (next > capacity) {
+                    return -1;
+                }
+                if (reserved.compareAndSet(current, next)) {
+                    return capacity - next;
+                }
+            }
+        }
+
+        void release(int seats) {
+            reserved.addAndGet(-seats);
+        }
+
+        void reseed(int capacity, int reserved) {
+            this.capacity = capacity;
+            this.reserved.set(reserved);
+        }
+
+        int available() {
+            return Math.max(0, capacity - reserved.get());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.tourapp.service;
+
+import com.tourapp.entity.OutboxMessage;
+import com.tourapp.event.OutboxPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox to the {@link OutboxPublisher} in the background, so no write waits
+ * on a broker. Each run sends full batches back to back and stops at the first partial
+ * one; the next run starts {@code tour.outbox.linger-ms} later, which lets messages
+ * gather into batches under load. Delivery is at least once: a crash between publish
+ * and delete sends the batch again.
+ *
+ * <p>Instances relay side by side by skipping each other's locked rows, so two changes
+ * to one tour can reach the publisher out of order when they fall in different batches.
+ * Consumers keep the highest {@code version} seen per tour and drop older ones; a
+ * {@code DELETED} message is final.
+ */
+@Service
+@ConditionalOnProperty(name = "tour.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxStore outboxStore;
+    private final OutboxPublisher publisher;
+    private final int batchSize;
+
+    private final Counter published;
+    private final Counter failures;
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxStore outboxStore, OutboxPublisher publisher, MeterRegistry meterRegistry,
+                       @Value("${tour.outbox.batch-size:100}") int batchSize) {
+        this.outboxStore = outboxStore;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+
+        this.published = Counter.builder("tour.outbox.published")
+                .description("Outbox messages handed to the publisher")
+                .register(meterRegistry);
+        this.failures = Counter.builder("tour.outbox.failures")
+                .description("Outbox batches the publisher failed; they are retried")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("tour.outbox.batch.size")
+                .description("Messages per published batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("tour.outbox.lag")
+                .description("Time from a change being written to its message being published")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tour.outbox.linger-ms:100}", initialDelayString = "${tour.outbox.linger-ms:100}")
+    public void drain() {
+        int relayed;
+        do {
+            try {
+                relayed = outboxStore.relay(batchSize, this::publish);
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn("Could not relay outbox batch, retrying: {}", ex.getMessage());
+                return;
+            }
+        } while (relayed == batchSize);
+    }
+
+    private void publish(List<OutboxMessage> batch) {
+        publisher.publish(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : batch) {
+            lag.record(Duration.between(message.getCreatedAt(), now));
+        }
+        published.increment(batch.size());
+        batchSizes.record(batch.size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.tourapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourapp.entity.OutboxMessage;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Database side of the outbox. {@link TourService} appends inside its own transaction,
+ * so a change and its message commit or roll back together; {@link OutboxRelay} takes
+ * them out a batch per transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class OutboxStore {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TourChangedEvent.ChangeType type, Tour tour) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(TourService.mapToResponse(tour));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize tour " + tour.getId(), ex);
+        }
+        outboxRepository.save(new OutboxMessage(null, tour.getId(), type, tour.getVersion(), payload,
+                LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(TourChangedEvent.ChangeType type, List<Tour> tours) {
+        tours.forEach(tour -> append(type, tour));
+    }
+
+    /**
+     * Hands the oldest {@code batchSize} messages to {@code publish} and deletes them
+     * when it returns; if it throws, they stay for the next attempt. Returns how many
+     * were relayed.
+     */
+    public int relay(int batchSize, Consumer<List<OutboxMessage>> publish) {
+        List<OutboxMessage> batch = outboxRepository.lockOldest(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        publish.accept(batch);
+        outboxRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+}
@@ -0,0 +1,143 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Materialized destination -> active tour count, the in-memory equivalent of
+ * {@code TourRepository.findPopularDestinations}. Committed tour changes are applied
+ * incrementally and a periodic reconciliation against the database corrects drift
+ * (e.g. writes made by other instances).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PopularDestinations {
+
+    private final TourRepository tourRepository;
+
+    // Guarded by "this"
+    private final Map<UUID, String> activeDestinations = new HashMap<>();
+    private final Map<String, Long> counts = new HashMap<>();
+    private List<TourChangedEvent> changesDuringReconcile;
+
+    private volatile List<TourDTO.DestinationCount> ranking;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${tour.destinations.reconcile-interval-ms:300000}",
+            initialDelayString = "${tour.destinations.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (this) {
+            changesDuringReconcile = new ArrayList<>();
+        }
+
+        Map<UUID, String> loaded = new HashMap<>();
+        try {
+            for (Object[] row : tourRepository.findActiveTourDestinations()) {
+                loaded.put((UUID) row[0], (String) row[1]);
+            }
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                changesDuringReconcile = null;
+            }
+            throw ex;
+        }
+
+        synchronized (this) {
+            Map<String, Long> previousCounts = new HashMap<>(counts);
+
+            activeDestinations.clear();
+            counts.clear();
+            loaded.forEach(this::increment);
+
+            // Changes committed while the query ran may be missing from its result
+            List<TourChangedEvent> pending = changesDuringReconcile;
+            changesDuringReconcile = null;
+            pending.forEach(this::apply);
+
+            if (ready && !previousCounts.equals(counts)) {
+                log.warn("Popular destinations aggregate drifted from the database and was corrected");
+            }
+            ranking = null;
+            ready = true;
+        }
+        log.debug("Popular destinations reconciled: {} destinations", counts.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTourChanged(TourChangedEvent event) {
+        apply(event);
+        if (changesDuringReconcile != null) {
+            changesDuringReconcile.add(event);
+        }
+        ranking = null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Destinations ordered by number of active tours (descending), ties by name.
+     */
+    public List<TourDTO.DestinationCount> top(int limit) {
+        List<TourDTO.DestinationCount> current = ranking;
+        if (current == null) {
+            current = rank();
+        }
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    private synchronized List<TourDTO.DestinationCount> rank() {
+        if (ranking == null) {
+            ranking = counts.entrySet().stream()
+                    .map(entry -> new TourDTO.DestinationCount(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingLong(TourDTO.DestinationCount::getTourCount).reversed()
+                            .thenComparing(TourDTO.DestinationCount::getDestination))
+                    .toList();
+        }
+        return ranking;
+    }
+
+    private void apply(TourChangedEvent event) {
+        String previous = activeDestinations.remove(event.tourId());
+        if (previous != null) {
+            decrement(previous);
+        }
+
+        Tour tour = event.tour();
+        if (event.type() != TourChangedEvent.ChangeType.DELETED && tour.getStatus() == Tour.TourStatus.ACTIVE) {
+            increment(event.tourId(), tour.getDestination());
+        }
+    }
+
+    private void increment(UUID tourId, String destination) {
+        activeDestinations.put(tourId, destination);
+        counts.merge(destination, 1L, Long::sum);
+    }
+
+    private void decrement(String destination) {
+        counts.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
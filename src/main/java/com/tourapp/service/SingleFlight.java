@@ -0,0 +1,102 @@
+package com.tourapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads. The first caller for an operation and argument
+ * list runs the load; callers arriving while it is in flight wait for and share its
+ * result (or exception) instead of issuing the same query again. Nothing is kept once
+ * the load completes, so this is not a cache: it only flattens bursts.
+ *
+ * <p>{@code tour.singleflight.calls} counts callers per operation, tagged
+ * {@code role=leader} (ran the load) or {@code role=joined} (shared one); the
+ * coalescing ratio is joined / (leader + joined).
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> leaders = new ConcurrentHashMap<>();
+    private final Map<String, Counter> joined = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tour.singleflight.enabled:true}")
+    private boolean enabled;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("tour.singleflight.in-flight", inFlight, Map::size)
+                .description("Distinct reads currently being loaded")
+                .register(meterRegistry);
+    }
+
+    record Key(String operation, List<Object> arguments) {
+    }
+
+    /**
+     * Runs {@code loader}, or joins the identical call already running. Arguments are
+     * compared with {@code equals} and may be null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Supplier<T> loader, Object... arguments) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(operation, Arrays.asList(arguments));
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            counter(joined, operation, "joined").increment();
+            return (T) await(running);
+        }
+
+        counter(leaders, operation, "leader").increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            // Rethrow the leader's exception as is, so callers handle it exactly like their own
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String operation, String role) {
+        return counters.computeIfAbsent(operation, name -> Counter.builder("tour.singleflight.calls")
+                .description("Reads by whether they ran the load or shared one already in flight")
+                .tag("operation", name)
+                .tag("role", role)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,178 @@
+package com.tourapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel: O(1) to schedule, O(1) per tick to expire, whatever the
+ * number of pending items. Level 0 has {@code wheelSize} slots of one tick each; every
+ * level above has slots {@code wheelSize} times wider, and its items cascade down a
+ * level when their slot comes round. Items due beyond the top level wait in its slots
+ * and are placed again each turn.
+ *
+ * <p>{@link #schedule} only appends to a lock-free queue; the wheel itself is owned by
+ * the single thread that calls {@link #advance()} (the one started by {@link #start()}).
+ * Everything that expires during one advance is handed to {@code onExpired} as one batch.
+ * There is no cancellation: callers ignore items that no longer matter when they expire.
+ */
+@Slf4j
+public final class TimingWheel<T> implements Closeable {
+
+    private final String name;
+    private final long tickNanos;
+    private final int wheelSize;
+    private final Consumer<List<T>> onExpired;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+
+    private final Queue<Entry<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // slots[level][slot]; only touched by the advancing thread
+    private final ArrayDeque<Entry<T>>[][] slots;
+    private final long[] slotTicks;
+    private long currentTick;
+
+    private volatile Thread worker;
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+
+    public TimingWheel(String name, Duration tick, int wheelSize, int levels,
+                       Consumer<List<T>> onExpired) {
+        this(name, tick, wheelSize, levels, onExpired, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(String name, Duration tick, int wheelSize, int levels,
+                Consumer<List<T>> onExpired, LongSupplier nanoClock) {
+        if (tick.isNegative() || tick.isZero() || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tick
+                    + ", " + wheelSize + " slots, " + levels + " levels");
+        }
+        this.name = name;
+        this.tickNanos = tick.toNanos();
+        this.wheelSize = wheelSize;
+        this.onExpired = onExpired;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+
+        slots = new ArrayDeque[levels][wheelSize];
+        slotTicks = new long[levels];
+        long width = 1;
+        for (int level = 0; level < levels; level++) {
+            slotTicks[level] = width;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayDeque<>();
+            }
+            width = Math.multiplyExact(width, wheelSize);
+        }
+    }
+
+    /**
+     * Expires {@code item} after {@code delay}, rounded up to the next tick. Safe to
+     * call from any thread.
+     */
+    public void schedule(T item, Duration delay) {
+        long deadlineNanos = nanoClock.getAsLong() + delay.toNanos() - startNanos;
+        long deadlineTick = (deadlineNanos + tickNanos - 1) / tickNanos;
+        incoming.add(new Entry<>(item, deadlineTick));
+        pending.incrementAndGet();
+    }
+
+    // Items scheduled and not yet expired
+    public int size() {
+        return pending.get();
+    }
+
+    /**
+     * Takes in newly scheduled items and turns the wheel up to the current time,
+     * handing everything that expired to {@code onExpired} in one call.
+     */
+    void advance() {
+        List<T> expired = new ArrayList<>();
+
+        Entry<T> entry;
+        while ((entry = incoming.poll()) != null) {
+            place(entry, expired);
+        }
+
+        long nowTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        while (currentTick < nowTick) {
+            currentTick++;
+            // Higher levels first, so items cascading into this tick expire with it
+            for (int level = slots.length - 1; level > 0; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    int slot = (int) ((currentTick / slotTicks[level]) % wheelSize);
+                    ArrayDeque<Entry<T>> due = slots[level][slot];
+                    slots[level][slot] = new ArrayDeque<>();
+                    due.forEach(cascading -> place(cascading, expired));
+                }
+            }
+            ArrayDeque<Entry<T>> due = slots[0][(int) (currentTick % wheelSize)];
+            while ((entry = due.poll()) != null) {
+                expired.add(entry.item());
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            pending.addAndGet(-expired.size());
+            onExpired.accept(expired);
+        }
+    }
+
+    private void place(Entry<T> entry, List<T> expired) {
+        long remaining = entry.deadlineTick() - currentTick;
+        if (remaining <= 0) {
+            expired.add(entry.item());
+            return;
+        }
+
+        int top = slots.length - 1;
+        int level = 0;
+        while (level < top && remaining >= slotTicks[level] * wheelSize) {
+            level++;
+        }
+        int slot = (int) ((entry.deadlineTick() / slotTicks[level]) % wheelSize);
+        slots[level][slot].add(entry);
+    }
+
+    /**
+     * Advances the wheel once per tick on a daemon thread until {@link #close()}.
+     */
+    public void start() {
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(tickNanos);
+                    advance();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException ex) {
+                    log.error("Timing wheel '{}' failed to expire a batch", name, ex);
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
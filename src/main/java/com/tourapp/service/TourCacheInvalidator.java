@@ -0,0 +1,41 @@
+package com.tourapp.service;
+
+import com.tourapp.config.CacheConfig;
+import com.tourapp.config.ReplicaRouter;
+import com.tourapp.event.TourChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached tour details once a write has committed. updateTour/deleteTour
+ * already evict on the way in; evicting again after commit stops a concurrent
+ * reader from re-caching the old row while the write transaction is still open,
+ * and covers writes that do not go through those methods.
+ *
+ * <p>With read replicas, reads are first pinned to the primary for the replicas' max
+ * lag: otherwise the read that refills the cache could come from a replica that has
+ * not replayed the write yet and keep the old row cached for the whole TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TourCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTourChanged(TourChangedEvent event) {
+        replicaRouter.ifAvailable(ReplicaRouter::pinReadsToPrimary);
+        Cache cache = cacheManager.getCache(CacheConfig.TOURS_CACHE);
+        if (cache != null) {
+            cache.evict(event.tourId());
+            log.debug("Evicted cached tour {} after {}", event.tourId(), event.type());
+        }
+    }
+}
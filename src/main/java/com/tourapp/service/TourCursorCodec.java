@@ -0,0 +1,106 @@
+package com.tourapp.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourapp.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes keyset scroll positions as opaque, URL-safe continuation tokens. A token
+ * carries the sort it was produced with, so follow-up requests only need the cursor.
+ */
+@Component
+@RequiredArgsConstructor
+public class TourCursorCodec {
+
+    // Columns a cursor may be keyed on, with the type used to decode their values
+    static final Map<String, Class<?>> SORTABLE_COLUMNS = Map.of(
+            "createdAt", LocalDateTime.class,
+            "updatedAt", LocalDateTime.class,
+            "name", String.class,
+            "destination", String.class,
+            "price", BigDecimal.class,
+            "durationDays", Integer.class
+    );
+
+    private static final String TIE_BREAKER = "id";
+
+    private final ObjectMapper objectMapper;
+
+    public TourCursor first(String sortBy, String sortDir) {
+        if (sortBy == null || !SORTABLE_COLUMNS.containsKey(sortBy)) {
+            throw new BadRequestException("Cursor pagination cannot sort by '" + sortBy
+                    + "'. Allowed fields: " + SORTABLE_COLUMNS.keySet());
+        }
+
+        Sort.Direction direction;
+        try {
+            direction = Sort.Direction.fromString(String.valueOf(sortDir));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid sort direction: " + sortDir);
+        }
+
+        return new TourCursor(sortBy, direction, ScrollPosition.keyset());
+    }
+
+    public String encode(TourCursor cursor, ScrollPosition next) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sortBy", cursor.sortBy());
+        payload.put("direction", cursor.direction().name());
+        payload.put("keys", ((KeysetScrollPosition) next).getKeys());
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(payload));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to encode cursor", ex);
+        }
+    }
+
+    public TourCursor decode(String token) {
+        try {
+            Map<String, Object> payload = objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(token), new TypeReference<Map<String, Object>>() {});
+
+            TourCursor first = first((String) payload.get("sortBy"), (String) payload.get("direction"));
+            Map<?, ?> rawKeys = (Map<?, ?>) payload.get("keys");
+            if (rawKeys == null) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(first.sortBy(), objectMapper.convertValue(
+                    rawKeys.get(first.sortBy()), SORTABLE_COLUMNS.get(first.sortBy())));
+            keys.put(TIE_BREAKER, objectMapper.convertValue(rawKeys.get(TIE_BREAKER), UUID.class));
+            if (keys.containsValue(null)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            return new TourCursor(first.sortBy(), first.direction(), ScrollPosition.forward(keys));
+        } catch (IOException | IllegalArgumentException | ClassCastException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public record TourCursor(String sortBy, Sort.Direction direction, KeysetScrollPosition position) {
+
+        /**
+         * The requested column plus the id, so that the key is unique and pages never
+         * skip or repeat rows that share the same sort value.
+         */
+        public Sort sort() {
+            return Sort.by(direction, sortBy).and(Sort.by(direction, TIE_BREAKER));
+        }
+    }
+}
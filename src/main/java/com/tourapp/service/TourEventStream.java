@@ -0,0 +1,268 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.event.TourChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server-sent events for committed tour changes. Every change gets an id of the form
+ * {@code <stream>-<sequence>} and is kept in a fixed-size ring, so a client that
+ * reconnects with {@code Last-Event-ID} receives what it missed. The stream part is
+ * random per instance start; when the id is from another stream (a restart, or another
+ * instance behind the load balancer) or no longer in the ring, the client gets a
+ * {@code reset} event and should reload through the REST API before following again.
+ *
+ * <p>The stream only carries changes committed by this instance, so it is complete
+ * only when a single instance serves the writes. With several instances, consumers
+ * that need every change should read the outbox ({@code OutboxPublisher}) instead.
+ *
+ * <p>Each subscriber has a bounded queue drained by its own virtual thread, so a slow
+ * socket never blocks a commit or the other subscribers. A subscriber whose queue fills
+ * up is disconnected; it reconnects with its last id and resumes from the ring.
+ */
+@Service
+@Slf4j
+public class TourEventStream {
+
+    static final String CHANGE_EVENT = "tour-change";
+    static final String RESET_EVENT = "reset";
+
+    private static final Message HEARTBEAT = new Message(null, null, null);
+
+    private final TourDTO.ChangeEvent[] ring;
+    // Ids from another instance or an earlier run never match, however their sequences compare
+    private final String streamId = UUID.randomUUID().toString().substring(0, 8);
+    private long lastId;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tour-events-", 0).factory());
+    private final int subscriberBuffer;
+    private final long timeoutMs;
+
+    private final Counter published;
+    private final Counter slowDisconnects;
+
+    public TourEventStream(MeterRegistry meterRegistry,
+                           @Value("${tour.events.ring-size:1024}") int ringSize,
+                           @Value("${tour.events.subscriber-buffer:256}") int subscriberBuffer,
+                           @Value("${tour.events.timeout:30m}") Duration timeout) {
+        this.ring = new TourDTO.ChangeEvent[ringSize];
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeoutMs = timeout.toMillis();
+
+        this.published = Counter.builder("tour.events.published")
+                .description("Tour changes appended to the event stream")
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("tour.events.disconnected")
+                .description("Subscribers dropped because their queue was full")
+                .tag("reason", "slow")
+                .register(meterRegistry);
+        Gauge.builder("tour.events.subscribers", subscribers, Set::size)
+                .description("Open event stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream; with {@code lastEventId}, first replays the changes after it.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = createEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriber.close());
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                long seen = sequenceOf(lastEventId);
+                if (seen >= Math.max(0, lastId - ring.length) && seen <= lastId) {
+                    for (long id = seen + 1; id <= lastId; id++) {
+                        subscriber.replay(new Message(CHANGE_EVENT, eventId(id), ring[slot(id)]));
+                    }
+                } else {
+                    subscriber.replay(new Message(RESET_EVENT, eventId(lastId), "Missed events are no longer available"));
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.flush();
+
+        log.debug("Event stream subscriber connected, resuming after {}", lastEventId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTourChanged(TourChangedEvent event) {
+        TourDTO.ChangeType type = switch (event.type()) {
+            case CREATED -> TourDTO.ChangeType.CREATED;
+            case UPDATED -> event.statusChanged() ? TourDTO.ChangeType.STATUS_CHANGED : TourDTO.ChangeType.UPDATED;
+            case DELETED -> TourDTO.ChangeType.DELETED;
+        };
+        TourDTO.ChangeEvent change = new TourDTO.ChangeEvent(null, type, event.tourId(),
+                event.statusChanged() ? event.previousStatus() : null,
+                TourService.mapToResponse(event.tour()), LocalDateTime.now());
+
+        List<Subscriber> slow = new ArrayList<>();
+        synchronized (this) {
+            change.setId(eventId(++lastId));
+            ring[slot(lastId)] = change;
+            Message message = new Message(CHANGE_EVENT, change.getId(), change);
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(message)) {
+                    slow.add(subscriber);
+                }
+            }
+        }
+        published.increment();
+        disconnect(slow);
+    }
+
+    // Keeps idle connections open through proxies and finds the dead ones
+    @Scheduled(fixedDelayString = "${tour.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        List<Subscriber> slow = new ArrayList<>();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(HEARTBEAT)) {
+                slow.add(subscriber);
+            }
+        }
+        disconnect(slow);
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // Overridden by tests to capture what is sent
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void disconnect(List<Subscriber> slow) {
+        for (Subscriber subscriber : slow) {
+            log.info("Disconnecting slow event stream subscriber ({} events queued)", subscriberBuffer);
+            subscriber.close();
+            subscriber.emitter.complete();
+            slowDisconnects.increment();
+        }
+    }
+
+    private int slot(long id) {
+        return (int) (id % ring.length);
+    }
+
+    private String eventId(long sequence) {
+        return streamId + "-" + sequence;
+    }
+
+    // Sequence of an id from this stream, or -1 for anything else
+    private long sequenceOf(String eventId) {
+        String prefix = streamId + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private record Message(String name, String id, Object data) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).id(id).data(data);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final ArrayDeque<Message> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Replayed events are bounded by the ring, not by the subscriber buffer
+        synchronized void replay(Message message) {
+            pending.add(message);
+        }
+
+        // False when the subscriber cannot keep up and should be dropped
+        synchronized boolean offer(Message message) {
+            if (closed) {
+                return true;
+            }
+            if (pending.size() >= subscriberBuffer) {
+                return false;
+            }
+            pending.add(message);
+            flush();
+            return true;
+        }
+
+        synchronized void flush() {
+            if (!draining && !closed && !pending.isEmpty()) {
+                draining = true;
+                senders.execute(this);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending.clear();
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Message message;
+                synchronized (this) {
+                    message = pending.poll();
+                    if (message == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(message.toSse());
+                } catch (IOException | IllegalStateException ex) {
+                    // Client went away; the container completes the emitter
+                    log.debug("Event stream subscriber dropped: {}", ex.getMessage());
+                    close();
+                    return;
+                }
+            }
+        }
+    }
+}
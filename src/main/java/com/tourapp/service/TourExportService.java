@@ -0,0 +1,86 @@
+package com.tourapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.tourapp.entity.Tour;
+import com.tourapp.repository.TourRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalogue row by row from a database cursor straight into the
+ * response, detaching each entity once written so memory stays flat regardless of
+ * catalogue size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TourExportService {
+
+    // Explicit column order keeps the CSV layout stable across releases
+    static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("name")
+            .addColumn("description")
+            .addColumn("destination")
+            .addColumn("price")
+            .addColumn("durationDays")
+            .addColumn("maxParticipants")
+            .addColumn("status")
+            .addColumn("imageUrl")
+            .addColumn("createdAt")
+            .addColumn("updatedAt")
+            .addColumn("version")
+            .build()
+            .withHeader();
+
+    private final TourRepository tourRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportTours(CatalogFormat format, OutputStream output) throws IOException {
+        log.info("Exporting tour catalogue as {}", format);
+
+        long count = 0;
+        try (Stream<Tour> tours = tourRepository.streamAll();
+             SequenceWriter writer = writerFor(format, output)) {
+
+            for (Iterator<Tour> iterator = tours.iterator(); iterator.hasNext(); count++) {
+                Tour tour = iterator.next();
+                writer.write(TourService.mapToResponse(tour));
+                entityManager.detach(tour);
+            }
+        }
+        if (format == CatalogFormat.NDJSON && count > 0) {
+            output.write('\n');
+        }
+        output.flush();
+
+        log.info("Exported {} tours as {}", count, format);
+        return count;
+    }
+
+    private SequenceWriter writerFor(CatalogFormat format, OutputStream output) throws IOException {
+        ObjectWriter writer = switch (format) {
+            case NDJSON -> objectMapper.writer().withRootValueSeparator("\n");
+            case CSV -> CatalogFormat.CSV_MAPPER.writer(CSV_SCHEMA);
+        };
+        return writer
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(output);
+    }
+}
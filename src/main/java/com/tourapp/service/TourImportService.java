@@ -0,0 +1,190 @@
+package com.tourapp.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Imports a catalogue from an NDJSON or CSV stream. Records are parsed one at a time
+ * and written in fixed-size chunks, each committed in its own transaction through
+ * {@link TourService#createTours}. The next chunk is only read once the previous one
+ * has been committed, so a fast client is throttled by the database instead of
+ * filling the heap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TourImportService {
+
+    private final TourService tourService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tour.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tour.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public TourDTO.ImportReport importTours(CatalogFormat format, InputStream input) throws IOException {
+        log.info("Importing tours from {}", format);
+        long start = System.nanoTime();
+
+        Progress progress = new Progress();
+        try (MappingIterator<TourDTO.Request> records = readerFor(format).readValues(input)) {
+            while (true) {
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                } catch (JsonParseException ex) {
+                    // Malformed input leaves the parser without a safe point to resume from
+                    progress.abort(ex);
+                    break;
+                }
+
+                long line = records.getParser().currentLocation().getLineNr();
+                long record = progress.total + 1;
+                try {
+                    TourDTO.Request request = records.nextValue();
+                    progress.total = record;
+                    if (request == null) {
+                        progress.reject(record, line, "Record is empty");
+                    } else {
+                        if (request.getStatus() == null) {
+                            // Empty CSV cells arrive as null; keep the API default
+                            request.setStatus(Tour.TourStatus.ACTIVE);
+                        }
+                        progress.add(request, record, line);
+                    }
+                } catch (JsonParseException ex) {
+                    progress.abort(ex);
+                    break;
+                } catch (JsonMappingException ex) {
+                    progress.total = record;
+                    progress.reject(record, line, ex.getOriginalMessage());
+                }
+
+                if (progress.pending.size() >= chunkSize) {
+                    flush(progress);
+                }
+            }
+        }
+        flush(progress);
+
+        log.info("Imported {} of {} tours ({} failed) in {} ms",
+                progress.created, progress.total, progress.failed, (System.nanoTime() - start) / 1_000_000);
+        return progress.toReport();
+    }
+
+    private ObjectReader readerFor(CatalogFormat format) {
+        ObjectReader reader = switch (format) {
+            case NDJSON -> objectMapper.readerFor(TourDTO.Request.class);
+            case CSV -> CatalogFormat.CSV_MAPPER.readerFor(TourDTO.Request.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .with(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        };
+        // Lets an export be imported as-is: id and audit columns are ignored
+        return reader.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private void flush(Progress progress) {
+        if (progress.pending.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int chunk = progress.chunks.size() + 1;
+        int created = 0;
+        int failed = 0;
+        try {
+            TourDTO.BatchResult result = tourService.createTours(progress.pending);
+            for (TourDTO.BatchItemResult item : result.getItems()) {
+                if (item.getStatus() == TourDTO.BatchItemStatus.FAILED) {
+                    progress.error(progress.pendingRecords.get(item.getIndex()),
+                            progress.pendingLines.get(item.getIndex()), item.getError());
+                }
+            }
+            created = result.getSucceeded();
+            failed = result.getFailed();
+        } catch (DataAccessException ex) {
+            log.warn("Import chunk {} failed: {}", chunk, ex.getMessage());
+            for (int i = 0; i < progress.pending.size(); i++) {
+                progress.error(progress.pendingRecords.get(i), progress.pendingLines.get(i),
+                        "Chunk " + chunk + " could not be saved");
+            }
+            failed = progress.pending.size();
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        progress.chunks.add(new TourDTO.ImportChunk(
+                chunk, progress.pendingRecords.get(0), progress.pending.size(), created, failed, elapsedMs));
+        progress.created += created;
+        progress.failed += failed;
+        log.debug("Import chunk {}: {} created, {} failed in {} ms", chunk, created, failed, elapsedMs);
+
+        progress.pending.clear();
+        progress.pendingRecords.clear();
+        progress.pendingLines.clear();
+    }
+
+    private class Progress {
+        private final List<TourDTO.Request> pending = new ArrayList<>();
+        private final List<Long> pendingRecords = new ArrayList<>();
+        private final List<Long> pendingLines = new ArrayList<>();
+        private final List<TourDTO.ImportChunk> chunks = new ArrayList<>();
+        private final List<TourDTO.ImportError> errors = new ArrayList<>();
+        private long total;
+        private long created;
+        private long failed;
+        private boolean completed = true;
+        private boolean errorsTruncated;
+
+        void add(TourDTO.Request request, long record, long line) {
+            pending.add(request);
+            pendingRecords.add(record);
+            pendingLines.add(line);
+        }
+
+        void reject(long record, long line, String message) {
+            failed++;
+            error(record, line, message);
+        }
+
+        void abort(JsonParseException ex) {
+            completed = false;
+            error(total + 1, ex.getLocation() == null ? 0 : ex.getLocation().getLineNr(),
+                    "Malformed input, import stopped: " + ex.getOriginalMessage());
+        }
+
+        void error(long record, long line, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TourDTO.ImportError(record, line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        TourDTO.ImportReport toReport() {
+            errors.sort(Comparator.comparingLong(TourDTO.ImportError::getRecord));
+            return new TourDTO.ImportReport(total, created, failed, completed, errorsTruncated, chunks, errors);
+        }
+    }
+}
@@ -1,20 +1,54 @@
 package com.tourapp.service;
 
+import com.tourapp.config.CacheConfig;
+import com.tourapp.dto.CursorPage;
 import com.tourapp.dto.TourDTO;
 import com.tourapp.entity.Tour;
+import com.tourapp.entity.TourTombstone;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.event.TourEntityListener;
 import com.tourapp.exception.ResourceNotFoundException;
+import com.tourapp.exception.BadRequestException;
 import com.tourapp.exception.DuplicateResourceException;
+import com.tourapp.exception.PreconditionFailedException;
+import com.tourapp.repository.TourListVersion;
 import com.tourapp.repository.TourRepository;
+import com.tourapp.repository.TourSpecifications;
+import com.tourapp.repository.TourTombstoneRepository;
+import com.tourapp.repository.TourVersion;
+import com.tourapp.search.SuggestionIndex;
+import com.tourapp.search.TourSearchIndex;
+import com.tourapp.search.TourTextIndex;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +56,22 @@ import java.util.UUID;
 @Transactional
 public class TourService {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final TourRepository tourRepository;
+    private final TourTombstoneRepository tourTombstoneRepository;
+    // Change messages for downstream systems, committed with the change itself
+    private final OutboxStore outboxStore;
+    private final TourSearchIndex tourSearchIndex;
+    private final TourTextIndex tourTextIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final TourCursorCodec cursorCodec;
+    private final PopularDestinations popularDestinations;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tour.batch.max-size:1000}")
+    private int maxBatchSize;
 
     public TourDTO.Response createTour(TourDTO.Request request) {
         log.info("Creating new tour with name: {}", request.getName());
@@ -34,14 +83,16 @@ public class TourService {
 
         Tour tour = mapToEntity(request);
         Tour savedTour = tourRepository.save(tour);
+        outboxStore.append(TourChangedEvent.ChangeType.CREATED, savedTour);
 
         log.info("Tour created successfully with ID: {}", savedTour.getId());
         return mapToResponse(savedTour);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TOURS_CACHE, key = "#id")
     public TourDTO.Response getTourById(UUID id) {
-        log.info("Fetching tour with ID: {}", id);
+        log.debug("Fetching tour with ID: {}", id);
 
         Tour tour = tourRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
@@ -49,12 +100,35 @@ public class TourService {
         return mapToResponse(tour);
     }
 
+    @Transactional(readOnly = true)
+    public TourVersion getTourVersion(UUID id) {
+        return tourRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
+    }
+
+    /**
+     * Validator for a list endpoint, from the search index; every filter is optional, so
+     * no filters means the whole catalogue. Empty when the index is disabled or loading:
+     * an aggregate over the tours table on every request would cost about as much as the
+     * page, so the caller tags the page instead.
+     */
+    public Optional<TourListVersion> getListVersion(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status) {
+
+        return tourSearchIndex.listVersion(name, destination, minPrice, maxPrice, minDays, maxDays, status);
+    }
+
     @Transactional(readOnly = true)
     public Page<TourDTO.Summary> getAllTours(Pageable pageable) {
-        log.info("Fetching all tours with pagination: {}", pageable);
+        log.debug("Fetching all tours with pagination: {}", pageable);
 
-        Page<Tour> tours = tourRepository.findAll(pageable);
-        return tours.map(this::mapToSummary);
+        return tourRepository.findSummaries(pageable);
     }
 
     @Transactional(readOnly = true)
@@ -68,21 +142,100 @@ public class TourService {
             Tour.TourStatus status,
             Pageable pageable) {
 
-        log.info("Searching tours with filters - name: {}, destination: {}, status: {}",
-                name, destination, status);
+        if (log.isDebugEnabled()) {
+            log.debug("Searching tours with filters - name: {}, destination: {}, status: {}",
+                    name, destination, status);
+        }
 
-        Page<Tour> tours = tourRepository.findToursWithFilters(
+        Optional<Page<TourDTO.Summary>> indexed = tourSearchIndex.search(
                 name, destination, minPrice, maxPrice, minDays, maxDays, status, pageable);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
+        return tourRepository.findSummariesMatching(TourSpecifications.withFilters(
+                name, destination, minPrice, maxPrice, minDays, maxDays, status), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TourDTO.Summary> searchToursByText(String text, Tour.TourStatus status, Pageable pageable) {
+        log.debug("Full-text search for '{}', status: {}", text, status);
+
+        if (text == null || text.isBlank()) {
+            throw new BadRequestException("Search text is required");
+        }
+
+        Optional<Page<TourDTO.Summary>> indexed = tourTextIndex.search(text, status, pageable);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
+        // Index disabled or still loading: unranked substring match
+        return tourRepository.findSummariesByText(text.trim(), status, pageable);
+    }
+
+    // Served from memory on every keystroke, so no transaction (and no connection) is opened
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TourDTO.Suggestion> suggest(String prefix, int limit) {
+        log.debug("Suggesting tours for '{}'", prefix);
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return suggestionIndex.suggest(prefix, limit);
+    }
 
-        return tours.map(this::mapToSummary);
+    @Transactional(readOnly = true)
+    public CursorPage<TourDTO.Summary> scrollTours(String cursor, int size, String sortBy, String sortDir) {
+        log.debug("Scrolling tours with cursor: {}", cursor);
+
+        return scroll(Specification.where(null), cursor, size, sortBy, sortDir);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TourDTO.Summary> scrollSearchTours(
+            String name,
+            String destination,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer minDays,
+            Integer maxDays,
+            Tour.TourStatus status,
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDir) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Scrolling tour search with filters - name: {}, destination: {}, status: {}",
+                    name, destination, status);
+        }
+
+        Specification<Tour> filters = TourSpecifications.withFilters(
+                name, destination, minPrice, maxPrice, minDays, maxDays, status);
+        return scroll(filters, cursor, size, sortBy, sortDir);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TourDTO.Summary> scrollToursByStatus(
+            Tour.TourStatus status, String cursor, int size, String sortBy, String sortDir) {
+        log.debug("Scrolling tours with status: {}", status);
+
+        return scroll(TourSpecifications.hasStatus(status), cursor, size, sortBy, sortDir);
     }
 
-    public TourDTO.Response updateTour(UUID id, TourDTO.Request request) {
+    @CacheEvict(cacheNames = CacheConfig.TOURS_CACHE, key = "#id")
+    public TourDTO.Response updateTour(UUID id, TourDTO.Request request, Long expectedVersion) {
         log.info("Updating tour with ID: {}", id);
 
         Tour existingTour = tourRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingTour.getVersion())) {
+            throw new PreconditionFailedException("Tour " + id + " has changed (current version "
+                    + existingTour.getVersion() + ")");
+        }
+
         // Check if the new name conflicts with existing tours (excluding current tour)
         if (!existingTour.getName().equalsIgnoreCase(request.getName()) &&
                 tourRepository.existsByNameIgnoreCase(request.getName())) {
@@ -91,33 +244,234 @@ public class TourService {
 
         updateTourFields(existingTour, request);
         Tour updatedTour = tourRepository.save(existingTour);
+        // Flush now so a concurrent edit surfaces here and the response carries the new version
+        tourRepository.flush();
+        outboxStore.append(TourChangedEvent.ChangeType.UPDATED, updatedTour);
 
         log.info("Tour updated successfully with ID: {}", updatedTour.getId());
         return mapToResponse(updatedTour);
     }
 
+    /**
+     * Applies the non-null fields of {@code patch} with a single conditional UPDATE;
+     * the row is read back once afterwards for the response and the change event. A
+     * null {@code expectedVersion} (If-Match: *) patches whatever version is current.
+     *
+     * <p>Nothing is read before the write: a name clash is caught by the unique index on
+     * name_key (409 through GlobalExceptionHandler), and the UPDATE itself records the
+     * previous status that the change event announces.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TOURS_CACHE, key = "#id")
+    public TourDTO.Response patchTour(UUID id, TourDTO.Patch patch, Long expectedVersion) {
+        log.info("Patching tour with ID: {}", id);
+
+        int updated = tourRepository.updateIfVersionMatches(id, expectedVersion, patchedFields(patch));
+
+        if (updated == 0) {
+            // Throws 404 if the tour is gone; otherwise the version no longer matches
+            TourVersion current = getTourVersion(id);
+            throw new PreconditionFailedException("Tour " + id + " has changed (current version "
+                    + current.version() + ")");
+        }
+
+        Tour patchedTour = tourRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
+        Tour.TourStatus previousStatus = patch.getStatus() == null ? null : patchedTour.getPreviousStatus();
+        // Bulk updates bypass the entity listener, so announce the change ourselves
+        eventPublisher.publishEvent(new TourChangedEvent(
+                TourChangedEvent.ChangeType.UPDATED, TourEntityListener.snapshotOf(patchedTour), previousStatus));
+        outboxStore.append(TourChangedEvent.ChangeType.UPDATED, patchedTour);
+
+        log.info("Tour patched successfully with ID: {}, version: {}", id, patchedTour.getVersion());
+        return mapToResponse(patchedTour);
+    }
+
+    private static Map<String, Object> patchedFields(TourDTO.Patch patch) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "name", patch.getName());
+        putIfPresent(fields, "description", patch.getDescription());
+        putIfPresent(fields, "destination", patch.getDestination());
+        putIfPresent(fields, "price", patch.getPrice());
+        putIfPresent(fields, "durationDays", patch.getDurationDays());
+        putIfPresent(fields, "maxParticipants", patch.getMaxParticipants());
+        putIfPresent(fields, "status", patch.getStatus());
+        putIfPresent(fields, "imageUrl", patch.getImageUrl());
+        return fields;
+    }
+
+    private static void putIfPresent(Map<String, Object> fields, String name, Object value) {
+        if (value != null) {
+            fields.put(name, value);
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TOURS_CACHE, key = "#id")
     public void deleteTour(UUID id) {
         log.info("Deleting tour with ID: {}", id);
 
-        if (!tourRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Tour not found with ID: " + id);
-        }
+        // findById is answered by the second-level cache; existsById would always query
+        Tour tour = tourRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
 
-        tourRepository.deleteById(id);
+        tourRepository.delete(tour);
+        // Same transaction, so delta sync never misses a delete
+        tourTombstoneRepository.save(new TourTombstone(id, LocalDateTime.now()));
+        outboxStore.append(TourChangedEvent.ChangeType.DELETED, tour);
         log.info("Tour deleted successfully with ID: {}", id);
     }
 
+    public TourDTO.BatchResult createTours(List<TourDTO.Request> requests) {
+        log.info("Creating {} tours in batch", requests.size());
+        checkBatchSize(requests);
+
+        TourDTO.BatchItemResult[] results = new TourDTO.BatchItemResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TourDTO.Request request = requests.get(i);
+            String error = validate(request);
+            if (error == null && candidates.putIfAbsent(nameKey(request.getName()), i) != null) {
+                error = "Duplicate tour name '" + request.getName() + "' in batch";
+            }
+            if (error != null) {
+                results[i] = failed(i, null, error);
+            }
+        }
+
+        // One round trip for all name checks instead of existsByNameIgnoreCase per tour
+        Map<String, UUID> takenNames = findTakenNames(candidates.keySet());
+        List<Tour> tours = new ArrayList<>();
+        List<Integer> tourIndexes = new ArrayList<>();
+        candidates.forEach((nameKey, index) -> {
+            TourDTO.Request request = requests.get(index);
+            if (takenNames.containsKey(nameKey)) {
+                results[index] = failed(index, null, "Tour with name '" + request.getName() + "' already exists");
+            } else {
+                tours.add(mapToEntity(request));
+                tourIndexes.add(index);
+            }
+        });
+
+        List<Tour> savedTours = tourRepository.saveAll(tours);
+        outboxStore.appendAll(TourChangedEvent.ChangeType.CREATED, savedTours);
+        for (int i = 0; i < savedTours.size(); i++) {
+            int index = tourIndexes.get(i);
+            results[index] = new TourDTO.BatchItemResult(
+                    index, savedTours.get(i).getId(), TourDTO.BatchItemStatus.CREATED, null);
+        }
+
+        return toBatchResult(results);
+    }
+
+    public TourDTO.BatchResult updateTours(List<TourDTO.BatchUpdateItem> items) {
+        log.info("Updating {} tours in batch", items.size());
+        checkBatchSize(items);
+
+        TourDTO.BatchItemResult[] results = new TourDTO.BatchItemResult[items.size()];
+        Map<UUID, Integer> indexById = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            TourDTO.BatchUpdateItem item = items.get(i);
+            UUID id = item == null ? null : item.getId();
+            String error = id == null ? "Tour ID is required" : validate(item.getTour());
+            if (error == null && indexById.putIfAbsent(id, i) != null) {
+                error = "Duplicate tour ID in batch";
+            }
+            if (error != null) {
+                results[i] = failed(i, id, error);
+            }
+        }
+
+        Map<UUID, Tour> existingTours = tourRepository.findAllById(indexById.keySet())
+                .stream()
+                .collect(Collectors.toMap(Tour::getId, Function.identity()));
+
+        Map<String, Integer> renamed = new HashMap<>();
+        indexById.forEach((id, index) -> {
+            Tour tour = existingTours.get(id);
+            String name = items.get(index).getTour().getName();
+            if (tour == null) {
+                results[index] = failed(index, id, "Tour not found with ID: " + id);
+            } else if (!tour.getName().equalsIgnoreCase(name) && renamed.putIfAbsent(nameKey(name), index) != null) {
+                results[index] = failed(index, id, "Duplicate tour name '" + name + "' in batch");
+            }
+        });
+
+        Map<String, UUID> takenNames = findTakenNames(renamed.keySet());
+        List<Tour> updatedTours = new ArrayList<>();
+        indexById.forEach((id, index) -> {
+            if (results[index] != null) {
+                return;
+            }
+            TourDTO.Request request = items.get(index).getTour();
+            UUID owner = takenNames.get(nameKey(request.getName()));
+            if (owner != null && !owner.equals(id)) {
+                results[index] = failed(index, id, "Tour with name '" + request.getName() + "' already exists");
+                return;
+            }
+
+            Tour tour = existingTours.get(id);
+            updateTourFields(tour, request);
+            updatedTours.add(tour);
+            results[index] = new TourDTO.BatchItemResult(index, id, TourDTO.BatchItemStatus.UPDATED, null);
+        });
+
+        tourRepository.saveAll(updatedTours);
+        // Flushed first so the messages carry the new versions
+        tourRepository.flush();
+        outboxStore.appendAll(TourChangedEvent.ChangeType.UPDATED, updatedTours);
+        return toBatchResult(results);
+    }
+
+    public TourDTO.BatchResult deleteTours(List<UUID> ids) {
+        log.info("Deleting {} tours in batch", ids.size());
+        checkBatchSize(ids);
+
+        TourDTO.BatchItemResult[] results = new TourDTO.BatchItemResult[ids.size()];
+        Map<UUID, Integer> indexById = new LinkedHashMap<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            if (id == null) {
+                results[i] = failed(i, null, "Tour ID is required");
+            } else if (indexById.putIfAbsent(id, i) != null) {
+                results[i] = failed(i, id, "Duplicate tour ID in batch");
+            }
+        }
+
+        List<Tour> tours = tourRepository.findAllById(indexById.keySet());
+        for (Tour tour : tours) {
+            int index = indexById.remove(tour.getId());
+            results[index] = new TourDTO.BatchItemResult(index, tour.getId(), TourDTO.BatchItemStatus.DELETED, null);
+        }
+        indexById.forEach((id, index) -> results[index] = failed(index, id, "Tour not found with ID: " + id));
+
+        tourRepository.deleteAll(tours);
+        LocalDateTime deletedAt = LocalDateTime.now();
+        tourTombstoneRepository.saveAll(tours.stream()
+                .map(tour -> new TourTombstone(tour.getId(), deletedAt))
+                .toList());
+        outboxStore.appendAll(TourChangedEvent.ChangeType.DELETED, tours);
+        return toBatchResult(results);
+    }
+
     @Transactional(readOnly = true)
     public Page<TourDTO.Summary> getToursByStatus(Tour.TourStatus status, Pageable pageable) {
-        log.info("Fetching tours with status: {}", status);
+        log.debug("Fetching tours with status: {}", status);
 
-        Page<Tour> tours = tourRepository.findByStatus(status, pageable);
-        return tours.map(this::mapToSummary);
+        return tourRepository.findSummariesByStatus(status, pageable);
     }
 
     @Transactional(readOnly = true)
     public List<String> getPopularDestinations() {
-        log.info("Fetching popular destinations");
+        log.debug("Fetching popular destinations");
+
+        if (popularDestinations.isReady()) {
+            return popularDestinations.top(Integer.MAX_VALUE)
+                    .stream()
+                    .map(TourDTO.DestinationCount::getDestination)
+                    .toList();
+        }
 
         return tourRepository.findPopularDestinations()
                 .stream()
@@ -125,6 +479,107 @@ public class TourService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<TourDTO.DestinationCount> getTopDestinations(int limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching top {} destinations", limit);
+        }
+
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+
+        if (popularDestinations.isReady()) {
+            return popularDestinations.top(limit);
+        }
+
+        return tourRepository.findPopularDestinations()
+                .stream()
+                .limit(limit)
+                .map(result -> new TourDTO.DestinationCount((String) result[0], (Long) result[1]))
+                .toList();
+    }
+
+    // Keyset pagination: seeks past the last row of the previous page instead of
+    // skipping an offset, and never issues a COUNT query
+    private CursorPage<TourDTO.Summary> scroll(
+            Specification<Tour> specification, String cursor, int size, String sortBy, String sortDir) {
+
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+
+        TourCursorCodec.TourCursor position = cursor == null
+                ? cursorCodec.first(sortBy, sortDir)
+                : cursorCodec.decode(cursor);
+
+        Window<Tour> window = tourRepository.findBy(specification, query -> query
+                .sortBy(position.sort())
+                .limit(size)
+                .scroll(position.position()));
+
+        String nextCursor = window.hasNext()
+                ? cursorCodec.encode(position, window.positionAt(window.size() - 1))
+                : null;
+
+        return CursorPage.<TourDTO.Summary>builder()
+                .content(window.map(TourService::mapToSummary).getContent())
+                .numberOfElements(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Batch helpers
+    private void checkBatchSize(Collection<?> items) {
+        if (items.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new BadRequestException("Batch cannot exceed " + maxBatchSize + " items");
+        }
+    }
+
+    private String validate(TourDTO.Request request) {
+        if (request == null) {
+            return "Tour data is required";
+        }
+
+        String violations = validator.validate(request)
+                .stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+        return violations.isEmpty() ? null : violations;
+    }
+
+    private Map<String, UUID> findTakenNames(Collection<String> nameKeys) {
+        if (nameKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, UUID> takenNames = new HashMap<>();
+        for (Object[] row : tourRepository.findIdsByLowerCaseNameIn(nameKeys)) {
+            takenNames.put((String) row[1], (UUID) row[0]);
+        }
+        return takenNames;
+    }
+
+    private String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private TourDTO.BatchItemResult failed(int index, UUID id, String error) {
+        return new TourDTO.BatchItemResult(index, id, TourDTO.BatchItemStatus.FAILED, error);
+    }
+
+    private TourDTO.BatchResult toBatchResult(TourDTO.BatchItemResult[] results) {
+        int failed = (int) Arrays.stream(results)
+                .filter(result -> result.getStatus() == TourDTO.BatchItemStatus.FAILED)
+                .count();
+        return new TourDTO.BatchResult(results.length, results.length - failed, failed, Arrays.asList(results));
+    }
+
     // Mapping methods
     private Tour mapToEntity(TourDTO.Request request) {
         Tour tour = new Tour();
@@ -139,7 +594,7 @@ public class TourService {
         return tour;
     }
 
-    private TourDTO.Response mapToResponse(Tour tour) {
+    static TourDTO.Response mapToResponse(Tour tour) {
         return new TourDTO.Response(
                 tour.getId(),
                 tour.getName(),
@@ -151,11 +606,12 @@ public class TourService {
                 tour.getStatus(),
                 tour.getImageUrl(),
                 tour.getCreatedAt(),
-                tour.getUpdatedAt()
+                tour.getUpdatedAt(),
+                tour.getVersion()
         );
     }
 
-    private TourDTO.Summary mapToSummary(Tour tour) {
+    static TourDTO.Summary mapToSummary(Tour tour) {
         return new TourDTO.Summary(
                 tour.getId(),
                 tour.getName(),
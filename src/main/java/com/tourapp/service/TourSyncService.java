@@ -0,0 +1,160 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.entity.TourTombstone;
+import com.tourapp.exception.BadRequestException;
+import com.tourapp.exception.SyncExpiredException;
+import com.tourapp.repository.TourRepository;
+import com.tourapp.repository.TourTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync for offline clients: the tours changed and deleted after a watermark, in
+ * (timestamp, id) order, read by keyset from {@code ix_tours_updated_at_id} and
+ * {@code ix_tour_tombstones_deleted_at_id}.
+ *
+ * <p>Timestamps are taken before commit, so a slow transaction can land behind changes
+ * already handed out. Pages are therefore read only up to {@code now -
+ * tour.sync.settle-time}, and no watermark ever goes past that point. The last page
+ * also carries the more recent changes; they are sent again next time (clients apply
+ * them as upserts) rather than possibly skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TourSyncService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private static final Position START = new Position(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0));
+
+    // UUIDs compared as unsigned bytes, like H2 and PostgreSQL order them
+    private static final Comparator<Position> ORDER = Comparator.comparing(Position::at)
+            .thenComparing(Position::id, Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+                    .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned));
+
+    private final TourRepository tourRepository;
+    private final TourTombstoneRepository tourTombstoneRepository;
+
+    @Value("${tour.sync.settle-time:10s}")
+    private Duration settleTime;
+
+    @Value("${tour.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    record Position(LocalDateTime at, UUID id) {
+    }
+
+    /**
+     * Changes after {@code since} (everything on the first sync, without deletions).
+     * Fails with {@link SyncExpiredException} once the tombstones a client would need
+     * have been purged.
+     */
+    public TourDTO.DeltaPage getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Position from = since == null ? START : decode(since);
+        if (since != null && from.at().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncExpiredException("Watermark is older than " + tombstoneRetention.toDays()
+                    + " days; download the catalogue again");
+        }
+
+        // First syncs have nothing to delete
+        boolean withDeletions = since != null;
+        Position settled = new Position(now.minus(settleTime), START.id());
+
+        List<TourDTO.Delta> changes = new ArrayList<>();
+        if (ORDER.compare(from, settled) < 0) {
+            changes = read(from, settled.at(), limit + 1, withDeletions);
+        }
+        boolean hasMore = changes.size() > limit;
+
+        Position next;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, limit));
+            next = positionOf(changes.get(changes.size() - 1));
+        } else {
+            // Everything settled has been sent; recent changes fill the rest of the last page
+            next = ORDER.compare(from, settled) > 0 ? from : settled;
+            int room = limit - changes.size();
+            if (room > 0) {
+                List<TourDTO.Delta> recent = read(next, null, room, withDeletions);
+                changes.addAll(recent.subList(0, Math.min(room, recent.size())));
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Delta sync after {}: {} changes, more: {}", from.at(), changes.size(), hasMore);
+        }
+        return new TourDTO.DeltaPage(changes, encode(next), hasMore);
+    }
+
+    // Changes after a position, merged in (timestamp, id) order; until null means up to now
+    private List<TourDTO.Delta> read(Position after, LocalDateTime until, int max, boolean withDeletions) {
+        List<TourDTO.Delta> changes = new ArrayList<>();
+        List<Tour> tours = until == null
+                ? tourRepository.findChangedAfter(after.at(), after.id(), Limit.of(max))
+                : tourRepository.findChangedBetween(after.at(), after.id(), until, Limit.of(max));
+        for (Tour tour : tours) {
+            changes.add(new TourDTO.Delta(tour.getId(), false, tour.getUpdatedAt(), TourService.mapToResponse(tour)));
+        }
+        if (withDeletions) {
+            List<TourTombstone> tombstones = until == null
+                    ? tourTombstoneRepository.findDeletedAfter(after.at(), after.id(), Limit.of(max))
+                    : tourTombstoneRepository.findDeletedBetween(after.at(), after.id(), until, Limit.of(max));
+            for (TourTombstone tombstone : tombstones) {
+                changes.add(new TourDTO.Delta(tombstone.getTourId(), true, tombstone.getDeletedAt(), null));
+            }
+        }
+        changes.sort(Comparator.comparing(TourSyncService::positionOf, ORDER));
+        return changes;
+    }
+
+    @Transactional
+    @Scheduled(cron = "${tour.sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        int purged = tourTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Purged {} tour tombstones older than {} days", purged, tombstoneRetention.toDays());
+    }
+
+    static String encode(Position position) {
+        String raw = position.at() + "|" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decode(String watermark) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid watermark");
+        }
+    }
+
+    private static Position positionOf(TourDTO.Delta delta) {
+        return new Position(delta.getChangedAt(), delta.getTourId());
+    }
+}
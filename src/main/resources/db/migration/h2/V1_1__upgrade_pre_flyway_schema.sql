@@ -0,0 +1,20 @@
+-- Brings a tours table created by ddl-auto=update (before Flyway) up to V1. Such a
+-- schema is baselined at version 1 (spring.flyway.baseline-on-migrate), so V1 never
+-- runs on it; on a schema V1 created, every statement here is a no-op.
+
+-- Existing rows start at version 0, like a freshly inserted tour
+ALTER TABLE tours ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tours ALTER COLUMN version DROP DEFAULT;
+
+-- Filled for existing rows as the column is added; fails if two names differ only in case
+ALTER TABLE tours ADD COLUMN IF NOT EXISTS name_key VARCHAR(100) GENERATED ALWAYS AS (LOWER(name));
+
+-- Written by patchTour's UPDATE only; null until a tour's status is first patched
+ALTER TABLE tours ADD COLUMN IF NOT EXISTS previous_status VARCHAR(20);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_tours_name_key ON tours (name_key);
+CREATE INDEX IF NOT EXISTS ix_tours_status_created_at ON tours (status, created_at);
+CREATE INDEX IF NOT EXISTS ix_tours_status_destination ON tours (status, destination);
+CREATE INDEX IF NOT EXISTS ix_tours_created_at_id ON tours (created_at, id);
+CREATE INDEX IF NOT EXISTS ix_tours_price ON tours (price);
+CREATE INDEX IF NOT EXISTS ix_tours_duration_days ON tours (duration_days);
@@ -0,0 +1,38 @@
+-- Tours catalogue. Every index below serves a query in TourRepository; see the
+-- PostgreSQL migration for the trigram indexes H2 has no equivalent for.
+
+CREATE TABLE tours (
+    id               UUID           NOT NULL,
+    name             VARCHAR(100)   NOT NULL,
+    name_key         VARCHAR(100)   GENERATED ALWAYS AS (LOWER(name)),
+    description      VARCHAR(1000)  NOT NULL,
+    destination      VARCHAR(100)   NOT NULL,
+    price            NUMERIC(10, 2) NOT NULL,
+    duration_days    INTEGER        NOT NULL,
+    max_participants INTEGER        NOT NULL,
+    status           VARCHAR(20)    NOT NULL,
+    previous_status  VARCHAR(20),
+    image_url        VARCHAR(255),
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6)   NOT NULL,
+    version          BIGINT         NOT NULL,
+    CONSTRAINT pk_tours PRIMARY KEY (id),
+    CONSTRAINT ck_tours_status CHECK (status IN ('ACTIVE', 'INACTIVE', 'CANCELLED', 'FULL'))
+);
+
+-- existsByNameIgnoreCase, findIdsByLowerCaseNameIn; also closes the check-then-insert race
+-- and rejects a PATCH rename onto another tour's name
+CREATE UNIQUE INDEX ux_tours_name_key ON tours (name_key);
+
+-- findSummariesByStatus, findByStatusOrderByCreatedAtDesc, status filter of the search
+CREATE INDEX ix_tours_status_created_at ON tours (status, created_at);
+
+-- findPopularDestinations, findActiveTourDestinations: grouped and read from the index alone
+CREATE INDEX ix_tours_status_destination ON tours (status, destination);
+
+-- Default sort of the list endpoints, streamAll and keyset scrolling (createdAt, id)
+CREATE INDEX ix_tours_created_at_id ON tours (created_at, id);
+
+-- Range filters of the search
+CREATE INDEX ix_tours_price ON tours (price);
+CREATE INDEX ix_tours_duration_days ON tours (duration_days);
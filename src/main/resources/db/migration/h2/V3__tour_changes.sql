@@ -0,0 +1,13 @@
+-- Delta sync (GET /api/v1/tours/changes) reads tours and deletions after a
+-- watermark in (timestamp, id) order; both come straight off these indexes.
+CREATE INDEX ix_tours_updated_at_id ON tours (updated_at, id);
+
+-- One row per deleted tour, written in the delete's transaction so clients can
+-- drop it locally. Purged after tour.sync.tombstone-retention.
+CREATE TABLE tour_tombstones (
+    tour_id    UUID         NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_tour_tombstones PRIMARY KEY (tour_id)
+);
+
+CREATE INDEX ix_tour_tombstones_deleted_at_id ON tour_tombstones (deleted_at, tour_id);
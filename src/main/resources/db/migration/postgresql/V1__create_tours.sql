@@ -0,0 +1,46 @@
+-- Tours catalogue. Every index below serves a query in TourRepository; the H2
+-- migration has the same B-tree indexes without the trigram ones.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE tours (
+    id               UUID           NOT NULL,
+    name             VARCHAR(100)   NOT NULL,
+    name_key         VARCHAR(100)   GENERATED ALWAYS AS (LOWER(name)) STORED,
+    description      VARCHAR(1000)  NOT NULL,
+    destination      VARCHAR(100)   NOT NULL,
+    price            NUMERIC(10, 2) NOT NULL,
+    duration_days    INTEGER        NOT NULL,
+    max_participants INTEGER        NOT NULL,
+    status           VARCHAR(20)    NOT NULL,
+    previous_status  VARCHAR(20),
+    image_url        VARCHAR(255),
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6)   NOT NULL,
+    version          BIGINT         NOT NULL,
+    CONSTRAINT pk_tours PRIMARY KEY (id),
+    CONSTRAINT ck_tours_status CHECK (status IN ('ACTIVE', 'INACTIVE', 'CANCELLED', 'FULL'))
+);
+
+-- existsByNameIgnoreCase, findIdsByLowerCaseNameIn; also closes the check-then-insert race
+-- and rejects a PATCH rename onto another tour's name
+CREATE UNIQUE INDEX ux_tours_name_key ON tours (name_key);
+
+-- findSummariesByStatus, findByStatusOrderByCreatedAtDesc, status filter of the search
+CREATE INDEX ix_tours_status_created_at ON tours (status, created_at);
+
+-- findPopularDestinations, findActiveTourDestinations: index-only scans
+CREATE INDEX ix_tours_status_destination ON tours (status, destination);
+
+-- Default sort of the list endpoints (scanned backwards for DESC), streamAll and keyset scrolling
+CREATE INDEX ix_tours_created_at_id ON tours (created_at, id);
+
+-- Range filters of the search
+CREATE INDEX ix_tours_price ON tours (price);
+CREATE INDEX ix_tours_duration_days ON tours (duration_days);
+
+-- LOWER(column) LIKE '%text%' from the search filters and the text-search fallback;
+-- a B-tree can't serve a leading wildcard, a trigram GIN index can
+CREATE INDEX ix_tours_name_trgm ON tours USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX ix_tours_destination_trgm ON tours USING gin (LOWER(destination) gin_trgm_ops);
+CREATE INDEX ix_tours_description_trgm ON tours USING gin (LOWER(description) gin_trgm_ops);
@@ -0,0 +1,27 @@
+-- Seats taken per tour, kept apart from tours so a booking never bumps the tour's
+-- version or evicts it from the caches. BookingLedger only changes it through a
+-- guarded UPDATE, so reserved stays within 0..tours.max_participants.
+CREATE TABLE tour_seats (
+    tour_id  UUID    NOT NULL,
+    reserved INTEGER NOT NULL,
+    CONSTRAINT pk_tour_seats PRIMARY KEY (tour_id),
+    CONSTRAINT fk_tour_seats_tour FOREIGN KEY (tour_id) REFERENCES tours (id) ON DELETE CASCADE,
+    CONSTRAINT ck_tour_seats_reserved CHECK (reserved >= 0)
+);
+
+CREATE TABLE bookings (
+    id           UUID         NOT NULL,
+    tour_id      UUID         NOT NULL,
+    seats        INTEGER      NOT NULL,
+    status       VARCHAR(20)  NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    cancelled_at TIMESTAMP(6),
+    version      BIGINT       NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_tour FOREIGN KEY (tour_id) REFERENCES tours (id) ON DELETE CASCADE,
+    CONSTRAINT ck_bookings_seats CHECK (seats > 0),
+    CONSTRAINT ck_bookings_status CHECK (status IN ('CONFIRMED', 'CANCELLED', 'REJECTED'))
+);
+
+-- Foreign key lookups (ON DELETE CASCADE) and bookings of a tour
+CREATE INDEX ix_bookings_tour_id ON bookings (tour_id);
@@ -0,0 +1,15 @@
+-- Tour domain events waiting to be relayed, written in the same transaction as the
+-- change itself. OutboxRelay reads them oldest first and deletes them once published,
+-- so the table only holds the backlog. version is the tour version the message was
+-- written at, so consumers fed by several relays can drop a change that arrives after
+-- a newer one.
+CREATE TABLE tour_outbox (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    tour_id    UUID          NOT NULL,
+    type       VARCHAR(20)   NOT NULL,
+    version    BIGINT        NOT NULL,
+    payload    VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_tour_outbox PRIMARY KEY (id),
+    CONSTRAINT ck_tour_outbox_type CHECK (type IN ('CREATED', 'UPDATED', 'DELETED'))
+);
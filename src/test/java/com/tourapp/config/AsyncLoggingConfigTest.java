@@ -0,0 +1,123 @@
+package com.tourapp.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusUtil;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogFile;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoggingConfigTest {
+
+    @Test
+    void neverBlock_FullQueueDropsEventsAndGaugesShowTheBacklog() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender slowSink = new BlockingAppender(release);
+        slowSink.setContext(context);
+        slowSink.start();
+
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC_TEST");
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(slowSink);
+        appender.start();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncLoggingConfig.bind(registry, appender);
+        try {
+            // The worker takes the first event and stalls in the sink; four more fill the queue
+            appender.doAppend(event(context, "first"));
+            assertTrue(slowSink.entered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 10; i++) {
+                // Must return immediately even though nothing is being drained
+                appender.doAppend(event(context, "event " + i));
+            }
+
+            assertEquals(4, registry.get("tour.logging.async.queued").tag("appender", "ASYNC_TEST").gauge().value());
+            assertEquals(0, registry.get("tour.logging.async.remaining").tag("appender", "ASYNC_TEST").gauge().value());
+        } finally {
+            release.countDown();
+            appender.stop();
+        }
+        assertEquals(5, slowSink.received);
+    }
+
+    @Test
+    void prodProfile_RootLogsToConsoleAndFileAsynchronously(@TempDir Path logs) {
+        MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+        prod.setProperty("logging.file.name", logs.resolve("tour.log").toString());
+        try {
+            configure(prod);
+
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            // Logback warns about, and may ignore, profile switches it does not support where they are
+            assertTrue(new StatusUtil(context).getHighestLevel(0) < Status.WARN,
+                    () -> context.getStatusManager().getCopyOfStatusList().toString());
+            Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+            assertInstanceOf(AsyncAppender.class, root.getAppender("ASYNC_FILE"));
+            assertInstanceOf(AsyncAppender.class, root.getAppender("ASYNC_CONSOLE"));
+        } finally {
+            configure(new MockEnvironment());
+            System.clearProperty("LOG_FILE");
+        }
+        Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+        assertNull(root.getAppender("ASYNC_FILE"));
+    }
+
+    // Loads logback-spring.xml the way Spring Boot does at startup, for the given environment
+    private static void configure(MockEnvironment environment) {
+        LoggingSystem loggingSystem = LoggingSystem.get(AsyncLoggingConfigTest.class.getClassLoader());
+        loggingSystem.cleanUp();
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), "classpath:logback-spring.xml",
+                LogFile.get(environment));
+    }
+
+    private static ILoggingEvent event(LoggerContext context, String message) {
+        return new LoggingEvent(AsyncLoggingConfigTest.class.getName(), context.getLogger(AsyncLoggingConfigTest.class),
+                Level.WARN, message, null, null);
+    }
+
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch release;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile int received;
+
+        BlockingAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            received++;
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tourapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConcurrencyLimitedDataSource("test", target, 1, 50);
+        registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+    }
+
+    @Test
+    void getConnection_WaitsForPermitAndTimesOut() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+        assertEquals(1, registry.get("tour.db.connection.wait").timer().count());
+
+        first.close();
+        first.close();
+        verify(connection, times(2)).close();
+
+        dataSource.getConnection().close();
+        assertEquals(2, registry.get("tour.db.connection.wait").timer().count());
+    }
+
+    @Test
+    void getConnection_ReleasesPermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted")).thenReturn(connection);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertNotNull(dataSource.getConnection());
+    }
+}
@@ -0,0 +1,122 @@
+package com.tourapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Separate in-memory H2 databases stand in for the primary and the replicas; each holds
+ * its own name in a one-row table, so a query shows where it was routed.
+ */
+class ReplicaRouterTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private ReplicaRouter router;
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void route_ReadOnlyTransactionsGoToReplicasInTurn() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1", 0));
+        replicas.put("replica-2", database("replica-2", 0));
+        router = new ReplicaRouter(database("primary", 0), replicas,
+                ReplicaRouter.Selection.ROUND_ROBIN, Duration.ofSeconds(5), LAG_QUERY);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        router.bindTo(registry);
+        router.probe();
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"),
+                List.of(whereAmI(true), whereAmI(true), whereAmI(true)));
+        assertEquals("primary", whereAmI(false));
+        assertEquals(2, registry.get("tour.db.routing").tag("target", "replica-1").counter().count());
+        assertEquals(1, registry.get("tour.db.routing").tag("target", "replica-2").counter().count());
+    }
+
+    @Test
+    void route_LaggingReplicaFallsBackToPrimaryUntilItCatchesUp() {
+        DataSource replica = database("replica-1", 30);
+        router = new ReplicaRouter(database("primary", 0), Map.of("replica-1", replica),
+                ReplicaRouter.Selection.LEAST_LATENCY, Duration.ofSeconds(5), LAG_QUERY);
+        router.probe();
+
+        assertEquals("primary", whereAmI(true));
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+        router.probe();
+        assertEquals("replica-1", whereAmI(true));
+    }
+
+    @Test
+    void route_ReplicaWhoseProbeOverrunsFallsBackToPrimary() throws InterruptedException {
+        DataSource replica = database("replica-1", 0);
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.execute("CREATE ALIAS SLEEP AS 'void sleep(long millis) throws Exception { Thread.sleep(millis); }'");
+        jdbc.execute("CREATE TABLE probe_delay (millis BIGINT)");
+        jdbc.update("INSERT INTO probe_delay VALUES (0)");
+        router = new ReplicaRouter(database("primary", 0), Map.of("replica-1", replica),
+                ReplicaRouter.Selection.ROUND_ROBIN, Duration.ofSeconds(5),
+                "SELECT seconds FROM replica_lag, probe_delay WHERE SLEEP(millis) IS NULL");
+        // One-second probes, so each one may take a second at most
+        router.start(Duration.ofSeconds(1));
+        assertEquals("replica-1", whereAmI(true));
+
+        jdbc.update("UPDATE probe_delay SET millis = 1500");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!whereAmI(true).equals("primary")) {
+            assertTrue(System.currentTimeMillis() < deadline, "Reads still routed to the stalled replica");
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void route_ReadsPinnedToPrimaryForMaxLagAfterAChange() throws InterruptedException {
+        router = new ReplicaRouter(database("primary", 0), Map.of("replica-1", database("replica-1", 0)),
+                ReplicaRouter.Selection.ROUND_ROBIN, Duration.ofMillis(300), LAG_QUERY);
+        router.probe();
+        assertEquals("replica-1", whereAmI(true));
+
+        router.pinReadsToPrimary();
+        assertEquals("primary", whereAmI(true));
+
+        Thread.sleep(400);
+        assertEquals("replica-1", whereAmI(true));
+    }
+
+    private String whereAmI(boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router.dataSource());
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private static DataSource database(String name, double lagSeconds) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        jdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        jdbc.update("INSERT INTO replica_lag VALUES (?)", lagSeconds);
+        return dataSource;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tourapp.config;
+
+import com.tourapp.service.TourService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A second pool on the same in-memory database plays the replica: same schema, no lag
+@SpringBootTest(properties = {
+        "tour.datasource.replicas.enabled=true",
+        "tour.datasource.replicas.urls=jdbc:h2:mem:tourdb",
+        "tour.datasource.replicas.selection=least-latency",
+        "tour.datasource.replicas.lag-query=SELECT 0",
+        "tour.datasource.concurrency-guard.enabled=true"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingConfigTest {
+
+    @Autowired
+    private TourService tourService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void readOnlyServiceCallsAreRoutedToTheReplica() {
+        double before = meterRegistry.get("tour.db.routing").tag("target", "replica-1").counter().count();
+
+        tourService.getAllTours(PageRequest.of(0, 10));
+
+        assertEquals(before + 1, meterRegistry.get("tour.db.routing").tag("target", "replica-1").counter().count());
+        assertEquals(1.0, meterRegistry.get("tour.db.replica.healthy").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void concurrencyGuard_LimitsEachPoolNotTheRoutingProxy() {
+        assertFalse(dataSource instanceof ConcurrencyLimitedDataSource);
+        for (String pool : new String[]{"primary", "replica-1"}) {
+            assertEquals(10.0, meterRegistry.get("tour.db.connection.max-concurrency").tag("pool", pool)
+                    .gauge().value());
+        }
+
+        tourService.getAllTours(PageRequest.of(0, 10));
+
+        assertTrue(meterRegistry.get("tour.db.connection.wait").tag("pool", "replica-1").timer().count() > 0);
+    }
+}
@@ -1,26 +1,47 @@
 // TourControllerIntegrationTest.java
 package com.tourapp.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.tourapp.config.HibernateCacheConfig;
 import com.tourapp.dto.TourDTO;
 import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
 import com.tourapp.repository.TourRepository;
+import com.tourapp.repository.TourSeatsRepository;
+import com.tourapp.service.BookingService;
+import com.tourapp.service.CatalogFormat;
+import com.tourapp.service.TourExportService;
+import com.tourapp.service.TourService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Transactional
+@RecordApplicationEvents
 class TourControllerIntegrationTest {
 
     @Autowired
@@ -36,9 +58,27 @@ class TourControllerIntegrationTest {
     @Autowired
     private TourRepository tourRepository;
 
+    @Autowired
+    private TourSeatsRepository tourSeatsRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TourExportService tourExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TourService tourService;
+
     private MockMvc mockMvc;
     private Tour testTour;
     private TourDTO.Request tourRequest;
@@ -120,6 +160,48 @@ class TourControllerIntegrationTest {
                 .andExpect(jsonPath("$.error", is("Conflict")));
     }
 
+    @Test
+    void createTours_Batch_ReportsPerItemResults() throws Exception {
+        tourRepository.save(testTour);
+
+        TourDTO.Request duplicate = new TourDTO.Request();
+        BeanUtils.copyProperties(tourRequest, duplicate);
+        duplicate.setName(testTour.getName().toUpperCase());
+
+        TourDTO.Request invalid = new TourDTO.Request();
+        BeanUtils.copyProperties(tourRequest, invalid);
+        invalid.setName("Other Tour");
+        invalid.setPrice(new BigDecimal("-1"));
+
+        mockMvc.perform(post("/api/v1/tours/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(tourRequest, duplicate, invalid, tourRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(4)))
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.items[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[0].id", notNullValue()))
+                .andExpect(jsonPath("$.items[1].error", containsString("already exists")))
+                .andExpect(jsonPath("$.items[2].error", containsString("price")))
+                .andExpect(jsonPath("$.items[3].error", containsString("in batch")));
+    }
+
+    @Test
+    void deleteTours_Batch_ReportsMissingTours() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+        UUID missingId = UUID.randomUUID();
+
+        mockMvc.perform(delete("/api/v1/tours/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(savedTour.getId(), missingId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status", is("DELETED")))
+                .andExpect(jsonPath("$.items[1].status", is("FAILED")));
+
+        mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getTourById_Success() throws Exception {
         Tour savedTour = tourRepository.save(testTour);
@@ -131,6 +213,250 @@ class TourControllerIntegrationTest {
                 .andExpect(jsonPath("$.destination", is(savedTour.getDestination())));
     }
 
+    @Test
+    void getTourById_ConditionalGetReturnsNotModified() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+
+        MvcResult first = mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/v1/tours/{id}", savedTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tourRequest)))
+                .andExpect(status().isOk());
+        tourRepository.flush();
+
+        mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findById_IsServedBySecondLevelCache() throws Exception {
+        // Outside the test transaction: read-write regions only serve entries committed before a session starts
+        Tour savedTour = tourRepository.save(testTour);
+        CacheRegionStatistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics().getDomainDataRegionStatistics(HibernateCacheConfig.TOUR_REGION);
+        long hits = statistics.getHitCount();
+
+        try {
+            // The committed insert already populated the region, so neither read reaches the database
+            assertTrue(tourRepository.findById(savedTour.getId()).isPresent());
+            assertTrue(tourRepository.findById(savedTour.getId()).isPresent());
+
+            assertEquals(hits + 2, statistics.getHitCount());
+            mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests"))
+                    .andExpect(status().isOk());
+        } finally {
+            tourRepository.deleteById(savedTour.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void patchTour_CachedTour_ReturnsAndPublishesPatchedVersion() throws Exception {
+        // Committed, so the read-back after the bulk update would find the old row in the region
+        Tour savedTour = tourRepository.save(testTour);
+
+        try {
+            mockMvc.perform(patch("/api/v1/tours/{id}", savedTour.getId())
+                            .header("If-Match", "*")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"price\": 1234.50}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.price").value(1234.50))
+                    .andExpect(jsonPath("$.version").value(savedTour.getVersion() + 1));
+
+            TourChangedEvent event = applicationEvents.stream(TourChangedEvent.class).reduce((a, b) -> b).orElseThrow();
+            assertEquals(TourChangedEvent.ChangeType.UPDATED, event.type());
+            assertEquals(savedTour.getVersion() + 1, event.tour().getVersion());
+            assertEquals(0, new BigDecimal("1234.50").compareTo(event.tour().getPrice()));
+        } finally {
+            tourRepository.deleteById(savedTour.getId());
+        }
+    }
+
+    @Test
+    void patchTour_WithCurrentETag_UpdatesOnlyGivenFields() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+        String etag = mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String newEtag = mockMvc.perform(patch("/api/v1/tours/{id}", savedTour.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 1234.50}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(1234.50))
+                .andExpect(jsonPath("$.name").value(testTour.getName()))
+                .andExpect(jsonPath("$.version").value(savedTour.getVersion() + 1))
+                .andExpect(header().string("ETag", not(etag)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // The old tag is stale now
+        mockMvc.perform(patch("/api/v1/tours/{id}", savedTour.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"durationDays\": 3}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()).header("If-None-Match", newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void patchTour_StatusChange_AnnouncesPreviousStatus() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+
+        mockMvc.perform(patch("/api/v1/tours/{id}", savedTour.getId())
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"INACTIVE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("INACTIVE"));
+
+        TourChangedEvent event = applicationEvents.stream(TourChangedEvent.class).reduce((a, b) -> b).orElseThrow();
+        assertEquals(Tour.TourStatus.ACTIVE, event.previousStatus());
+        assertTrue(event.statusChanged());
+    }
+
+    @Test
+    void patchTour_InCallersTransaction_DetachesOnlyThePatchedTour() {
+        // BookingLedger.syncStatus patches inside its own transaction and keeps using its entities
+        Tour patched = tourRepository.save(testTour);
+        Tour other = new Tour();
+        other.setName("Porto Wine Cellars");
+        other.setDescription("Tasting in the cellars of Gaia");
+        other.setDestination("Porto");
+        other.setPrice(new BigDecimal("60.00"));
+        other.setDurationDays(1);
+        other.setMaxParticipants(12);
+        tourRepository.saveAndFlush(other);
+
+        TourDTO.Patch patch = new TourDTO.Patch();
+        patch.setStatus(Tour.TourStatus.FULL);
+        tourService.patchTour(patched.getId(), patch, patched.getVersion());
+
+        assertTrue(entityManager.contains(other));
+        assertEquals(Tour.TourStatus.FULL, tourRepository.findById(patched.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void patchTour_NameOfAnotherTour_ReturnsConflict() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+        Tour other = new Tour();
+        other.setName("Porto Wine Cellars");
+        other.setDescription("Tasting in the cellars of Gaia");
+        other.setDestination("Porto");
+        other.setPrice(new BigDecimal("60.00"));
+        other.setDurationDays(1);
+        other.setMaxParticipants(12);
+        tourRepository.saveAndFlush(other);
+
+        mockMvc.perform(patch("/api/v1/tours/{id}", savedTour.getId())
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"PORTO WINE CELLARS\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("already exists")));
+    }
+
+    @Test
+    void patchTour_AnyVersionOfMissingTour_ReturnsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/v1/tours/{id}", UUID.randomUUID())
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 1234.50}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchTour_WithoutIfMatch_ReturnsPreconditionRequired() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+
+        mockMvc.perform(patch("/api/v1/tours/{id}", savedTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 1234.50}"))
+                .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    void updateTour_WithStaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+        tourRepository.flush();
+
+        mockMvc.perform(put("/api/v1/tours/{id}", savedTour.getId())
+                        .header("If-Match", "\"" + savedTour.getId() + "-" + (savedTour.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tourRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void getAllTours_ConditionalGetUsesListValidator() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+
+        String etag = mockMvc.perform(get("/api/v1/tours").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/tours").param("size", "5").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Another page is another representation
+        mockMvc.perform(get("/api/v1/tours").param("size", "6").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        tourRequest.setName("Another Paris Tour");
+        mockMvc.perform(post("/api/v1/tours")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tourRequest)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/tours").param("size", "5").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        // A deletion leaves no newer updatedAt behind, but still changes the list
+        String before = mockMvc.perform(get("/api/v1/tours").param("size", "5"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(delete("/api/v1/tours/{id}", savedTour.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/tours").param("size", "5").header("If-None-Match", before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTourById_CachedResponseRefreshedOnUpdate() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+
+        mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(savedTour.getName())));
+
+        tourRequest.setName("Cached Paris Tour");
+        mockMvc.perform(put("/api/v1/tours/{id}", savedTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tourRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/tours/{id}", savedTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Cached Paris Tour")));
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:tours"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void getTourById_NotFound() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
@@ -151,8 +477,157 @@ class TourControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", hasSize(1)))
                 .andExpect(jsonPath("$.content[0].name", is(testTour.getName())))
-                .andExpect(jsonPath("$.totalElements", is(1)))
-                .andExpect(jsonPath("$.totalPages", is(1)));
+                .andExpect(jsonPath("$.pagination.totalElements", is(1)))
+                .andExpect(jsonPath("$.pagination.totalPages", is(1)))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    void getAllTours_NegotiatesCbor() throws Exception {
+        tourRepository.save(testTour);
+
+        byte[] body = mockMvc.perform(get("/api/v1/tours").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        assertEquals(testTour.getName(), page.at("/content/0/name").asText());
+        assertEquals(1, page.at("/pagination/totalElements").asLong());
+    }
+
+    @Test
+    void scrollTours_ReturnsContinuationCursor() throws Exception {
+        for (String city : new String[]{"Paris", "Rome", "Lisbon"}) {
+            Tour tour = new Tour();
+            tour.setName("Scroll " + city + " Tour");
+            tour.setDescription("A wonderful tour of " + city);
+            tour.setDestination(city);
+            tour.setPrice(new BigDecimal("499.99"));
+            tour.setDurationDays(3);
+            tour.setMaxParticipants(10);
+            tourRepository.save(tour);
+        }
+
+        String body = mockMvc.perform(get("/api/v1/tours/scroll")
+                        .param("size", "2")
+                        .param("sortBy", "name")
+                        .param("sortDir", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name", is("Scroll Lisbon Tour")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/tours/scroll")
+                        .param("cursor", cursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Scroll Rome Tour")))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/tours/scroll")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportTours_StreamsNdjsonAndCsv() throws Exception {
+        tourRepository.save(testTour);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long exported = tourExportService.exportTours(CatalogFormat.NDJSON, ndjson);
+
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, exported);
+        assertEquals(1, lines.length);
+        assertEquals(testTour.getName(), objectMapper.readTree(lines[0]).get("name").asText());
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        tourExportService.exportTours(CatalogFormat.CSV, csv);
+
+        String[] rows = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows.length);
+        assertTrue(rows[0].startsWith("id,name,description"));
+        assertTrue(rows[1].contains(testTour.getName()));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/tours/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("tours.csv")));
+
+        mockMvc.perform(get("/api/v1/tours/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void suggest_ValidatesLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/tours/suggest").param("q", "par"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+
+        mockMvc.perform(get("/api/v1/tours/suggest").param("q", "par").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchToursByText_RequiresText() throws Exception {
+        mockMvc.perform(get("/api/v1/tours/search/text").param("q", "paris"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+
+        mockMvc.perform(get("/api/v1/tours/search/text").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importTours_ReportsCreatedAndFailedRecords() throws Exception {
+        String ndjson = """
+                {"name":"Imported Lisbon","description":"Old town and riverside","destination":"Lisbon","price":120.00,"durationDays":2,"maxParticipants":15}
+                {"name":"","description":"Missing name","destination":"Porto","price":80.00,"durationDays":1,"maxParticipants":10}
+                {"name":"Imported Rome","description":"Forum and Colosseum","destination":"Rome","price":"abc","durationDays":3,"maxParticipants":20}
+                """;
+
+        mockMvc.perform(post("/api/v1/tours/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.completed", is(true)))
+                .andExpect(jsonPath("$.chunks", hasSize(1)))
+                .andExpect(jsonPath("$.errors[*].record", containsInAnyOrder(2, 3)));
+
+        String csv = """
+                name,description,destination,price,durationDays,maxParticipants,status
+                Imported Porto,Ribeira and wine cellars,Porto,95.50,2,12,
+                Imported Lisbon,Duplicate of the first import,Lisbon,100.00,1,10,ACTIVE
+                """;
+
+        mockMvc.perform(post("/api/v1/tours/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.errors[0].record", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+
+        assertTrue(tourRepository.existsByNameIgnoreCase("Imported Porto"));
+
+        mockMvc.perform(post("/api/v1/tours/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<tours/>"))
+                .andExpect(status().isUnsupportedMediaType());
     }
 
     @Test
@@ -205,6 +680,33 @@ class TourControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getTourChanges_ReportsChangedThenDeletedTours() throws Exception {
+        Tour savedTour = tourRepository.save(testTour);
+
+        MvcResult firstSync = mockMvc.perform(get("/api/v1/tours/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].tourId", is(savedTour.getId().toString())))
+                .andExpect(jsonPath("$.changes[0].deleted", is(false)))
+                .andExpect(jsonPath("$.changes[0].tour.name", is("Test Paris Tour")))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andReturn();
+        String watermark = objectMapper.readTree(firstSync.getResponse().getContentAsString()).get("watermark").asText();
+
+        mockMvc.perform(delete("/api/v1/tours/{id}", savedTour.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/tours/changes").param("since", watermark))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].tourId", is(savedTour.getId().toString())))
+                .andExpect(jsonPath("$.changes[0].deleted", is(true)));
+
+        mockMvc.perform(get("/api/v1/tours/changes").param("since", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteTour_NotFound() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
@@ -232,4 +734,109 @@ class TourControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(0))));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void bookings_FillingTheTourFlipsItToFullAndCancellingReopensIt() throws Exception {
+        // Outside the test transaction: flushed bookings and the status change must commit
+        testTour.setMaxParticipants(3);
+        Tour savedTour = tourRepository.save(testTour);
+        UUID tourId = savedTour.getId();
+
+        try {
+            mockMvc.perform(post("/api/v1/tours/{id}/bookings", tourId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"seats\": 2}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.status").value("PENDING"))
+                    .andExpect(jsonPath("$.seatsAvailable").value(1));
+
+            mockMvc.perform(post("/api/v1/tours/{id}/bookings", tourId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"seats\": 2}"))
+                    .andExpect(status().isConflict());
+
+            MvcResult last = mockMvc.perform(post("/api/v1/tours/{id}/bookings", tourId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"seats\": 1}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.seatsAvailable").value(0))
+                    .andReturn();
+            String bookingId = objectMapper.readTree(last.getResponse().getContentAsString()).get("id").asText();
+            String location = last.getResponse().getHeader("Location");
+            assertTrue(location.endsWith("/api/v1/tours/" + tourId + "/bookings/" + bookingId));
+            mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("PENDING"));
+
+            bookingService.flush();
+            mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CONFIRMED"));
+            assertEquals(Tour.TourStatus.FULL, tourRepository.findById(tourId).orElseThrow().getStatus());
+            mockMvc.perform(get("/api/v1/tours/{id}/availability", tourId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reserved").value(3))
+                    .andExpect(jsonPath("$.status").value("FULL"));
+
+            mockMvc.perform(delete("/api/v1/tours/{id}/bookings/{bookingId}", tourId, bookingId))
+                    .andExpect(status().isNoContent());
+            bookingService.flush();
+
+            assertEquals(Tour.TourStatus.ACTIVE, tourRepository.findById(tourId).orElseThrow().getStatus());
+            mockMvc.perform(get("/api/v1/tours/{id}/bookings/{bookingId}", tourId, bookingId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CANCELLED"))
+                    .andExpect(jsonPath("$.seatsAvailable").value(1));
+        } finally {
+            tourRepository.deleteById(tourId);
+        }
+    }
+
+    @Test
+    void getAvailability_NoBookingsYet_DoesNotWrite() throws Exception {
+        UUID tourId = tourRepository.save(testTour).getId();
+
+        mockMvc.perform(get("/api/v1/tours/{id}/availability", tourId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reserved").value(0));
+
+        assertTrue(tourSeatsRepository.findById(tourId).isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void cancelBooking_AfterCapacityLowered_ReleasesSeatsInDatabase() throws Exception {
+        testTour.setMaxParticipants(3);
+        UUID tourId = tourRepository.save(testTour).getId();
+
+        try {
+            mockMvc.perform(post("/api/v1/tours/{id}/bookings", tourId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"seats\": 2}"))
+                    .andExpect(status().isAccepted());
+            MvcResult booking = mockMvc.perform(post("/api/v1/tours/{id}/bookings", tourId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"seats\": 1}"))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+            String bookingId = objectMapper.readTree(booking.getResponse().getContentAsString()).get("id").asText();
+            bookingService.flush();
+
+            // Now fewer seats than are already reserved
+            mockMvc.perform(patch("/api/v1/tours/{id}", tourId)
+                            .header("If-Match", "*")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"maxParticipants\": 1}"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(delete("/api/v1/tours/{id}/bookings/{bookingId}", tourId, bookingId))
+                    .andExpect(status().isNoContent());
+
+            // Still over the new capacity after the release, which must not stop it
+            assertEquals(2, tourSeatsRepository.findById(tourId).orElseThrow().getReserved());
+        } finally {
+            tourRepository.deleteById(tourId);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.tourapp.repository;
+
+import com.tourapp.entity.Tour;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application on a tours table as ddl-auto=update created it before Flyway:
+ * the schema is baselined, upgraded by V1_1 and must then pass Hibernate's validation.
+ */
+@SpringBootTest(properties = "tour.outbox.relay.enabled=false")
+@ActiveProfiles("test")
+class SchemaUpgradeTest {
+
+    private static final String URL = "jdbc:h2:mem:preflyway;DB_CLOSE_DELAY=-1";
+    private static final UUID EXISTING = UUID.randomUUID();
+
+    @Autowired
+    private TourRepository tourRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void preFlywaySchema(DynamicPropertyRegistry registry) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", "password"));
+        jdbc.execute("""
+                CREATE TABLE tours (
+                    id UUID NOT NULL, name VARCHAR(100) NOT NULL, description VARCHAR(1000) NOT NULL,
+                    destination VARCHAR(100) NOT NULL, price NUMERIC(10, 2) NOT NULL,
+                    duration_days INTEGER NOT NULL, max_participants INTEGER NOT NULL,
+                    status VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'CANCELLED', 'FULL')),
+                    image_url VARCHAR(255), created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6) NOT NULL,
+                    PRIMARY KEY (id))""");
+        jdbc.update("INSERT INTO tours VALUES (?, 'Lisbon Old Town', 'A walk through the old town', 'Lisbon', "
+                + "45.00, 1, 20, 'ACTIVE', NULL, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", EXISTING);
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void preFlywaySchema_IsBaselinedAndUpgraded() {
+        Tour tour = tourRepository.findById(EXISTING).orElseThrow();
+        assertEquals(0L, tour.getVersion());
+        assertEquals("lisbon old town", tour.getNameKey());
+        assertTrue(tourRepository.existsByNameIgnoreCase("LISBON OLD TOWN"));
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"type\" = 'BASELINE' AND \"version\" = '1'",
+                Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'UX_TOURS_NAME_KEY'",
+                Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class));
+    }
+}
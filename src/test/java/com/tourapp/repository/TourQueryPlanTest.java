@@ -0,0 +1,118 @@
+package com.tourapp.repository;
+
+import com.tourapp.entity.Tour;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each repository query, captures the SQL Hibernate sends and checks H2's EXPLAIN
+ * for it: every plan must read the tours table through an index. Substring filters
+ * (LIKE '%text%') are left out, since only the PostgreSQL trigram indexes serve them.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.tourapp.repository.TourQueryPlanTest$RecordingInspector")
+@ActiveProfiles("test")
+class TourQueryPlanTest {
+
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private TourRepository tourRepository;
+
+    @Autowired
+    private TourTombstoneRepository tourTombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void nameChecks_UseUniqueNameKeyIndex() {
+        assertPlansUse("UX_TOURS_NAME_KEY", () -> tourRepository.existsByNameIgnoreCase("Lisbon Walk"));
+        assertPlansUse("UX_TOURS_NAME_KEY",
+                () -> tourRepository.findIdsByLowerCaseNameIn(List.of("lisbon walk", "porto food")));
+    }
+
+    @Test
+    void statusQueries_UseStatusIndexes() {
+        assertPlansUse("IX_TOURS_STATUS_",
+                () -> tourRepository.findSummariesByStatus(Tour.TourStatus.ACTIVE, NEWEST_FIRST));
+        assertPlansUse("IX_TOURS_STATUS_",
+                () -> tourRepository.findByStatusOrderByCreatedAtDesc(Tour.TourStatus.INACTIVE));
+        assertPlansUse("IX_TOURS_STATUS_", () -> tourRepository.findPopularDestinations());
+        assertPlansUse("IX_TOURS_STATUS_", () -> tourRepository.findActiveTourDestinations());
+        assertPlansUse("IX_TOURS_STATUS_", () -> tourRepository.findActiveTourNames());
+    }
+
+    @Test
+    void searchFilters_UseIndexOfTheFilteredColumn() {
+        assertPlansUse("IX_TOURS_PRICE", () -> tourRepository.findSummariesMatching(
+                TourSpecifications.withFilters(null, null, new BigDecimal("100"), new BigDecimal("150"),
+                        null, null, null), NEWEST_FIRST));
+        assertPlansUse("IX_TOURS_DURATION_DAYS", () -> tourRepository.findSummariesMatching(
+                TourSpecifications.withFilters(null, null, null, null, 3, 5, null), NEWEST_FIRST));
+        assertPlansUse("IX_TOURS_STATUS_", () -> tourRepository.findSummariesMatching(
+                TourSpecifications.withFilters(null, null, null, null, null, null, Tour.TourStatus.FULL),
+                NEWEST_FIRST));
+    }
+
+    @Test
+    void deltaSync_UsesTimestampIdIndexes() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        assertPlansUse("IX_TOURS_UPDATED_AT_ID",
+                () -> tourRepository.findChangedAfter(since, UUID.randomUUID(), Limit.of(100)));
+        assertPlansUse("IX_TOUR_TOMBSTONES_DELETED_AT_ID",
+                () -> tourTombstoneRepository.findDeletedAfter(since, UUID.randomUUID(), Limit.of(100)));
+        LocalDateTime settled = LocalDateTime.now().minusSeconds(10);
+        assertPlansUse("IX_TOURS_UPDATED_AT_ID",
+                () -> tourRepository.findChangedBetween(since, UUID.randomUUID(), settled, Limit.of(100)));
+        assertPlansUse("IX_TOUR_TOMBSTONES_DELETED_AT_ID",
+                () -> tourTombstoneRepository.findDeletedBetween(since, UUID.randomUUID(), settled, Limit.of(100)));
+    }
+
+    @Test
+    void lookupsById_UsePrimaryKey() {
+        assertPlansUse("PRIMARY_KEY", () -> tourRepository.findVersionById(UUID.randomUUID()));
+    }
+
+    private void assertPlansUse(String index, Runnable query) {
+        RecordingInspector.STATEMENTS.get().clear();
+        query.run();
+        List<String> statements = List.copyOf(RecordingInspector.STATEMENTS.get());
+
+        assertFalse(statements.isEmpty(), "No SQL was executed");
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertFalse(plan.contains("tableScan"), () -> "Full scan:\n" + plan);
+            assertTrue(plan.contains("PUBLIC." + index), () -> "Expected " + index + ":\n" + plan);
+        }
+    }
+
+    // Instantiated by Hibernate; keeps the SQL issued by the test thread only
+    public static class RecordingInspector implements StatementInspector {
+
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionIndexTest {
+
+    @Mock
+    private TourRepository tourRepository;
+
+    @InjectMocks
+    private SuggestionIndex suggestionIndex;
+
+    private UUID lisbonWalkId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(suggestionIndex, "enabled", true);
+        lisbonWalkId = UUID.randomUUID();
+
+        when(tourRepository.findActiveTourNames()).thenReturn(List.of(
+                new Object[]{lisbonWalkId, "Lisbon Old Town Walk", "Lisboa"},
+                new Object[]{UUID.randomUUID(), "Sintra Palaces", "Lisboa"},
+                new Object[]{UUID.randomUUID(), "Lima River Cruise", "Lima"},
+                new Object[]{UUID.randomUUID(), "Mercado de São Paulo", "São Paulo"}
+        ));
+        suggestionIndex.load();
+    }
+
+    @Test
+    void suggest_RanksByPopularityThenDestinationFirst() {
+        List<TourDTO.Suggestion> suggestions = suggestionIndex.suggest("li", 10);
+
+        assertEquals(List.of("Lisboa", "Lisbon Old Town Walk", "Lima", "Lima River Cruise"), texts(suggestions));
+        assertEquals(2, suggestions.get(0).getWeight());
+        assertEquals(TourDTO.SuggestionType.DESTINATION, suggestions.get(0).getType());
+        assertEquals(lisbonWalkId, suggestions.get(1).getTourId());
+        assertEquals(2, suggestionIndex.suggest("li", 2).size());
+    }
+
+    @Test
+    void suggest_MatchesWordStartsIgnoringAccentsAndCase() {
+        assertEquals(List.of("São Paulo", "Mercado de São Paulo"), texts(suggestionIndex.suggest("SAO p", 10)));
+        assertEquals(List.of("Lisbon Old Town Walk"), texts(suggestionIndex.suggest("town", 10)));
+        assertTrue(suggestionIndex.suggest("own", 10).isEmpty());
+        assertTrue(suggestionIndex.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void onTourChanged_DropsInactiveToursAndUpdatesWeights() {
+        Tour tour = new Tour();
+        tour.setId(lisbonWalkId);
+        tour.setName("Lisbon Old Town Walk");
+        tour.setDestination("Lisboa");
+        tour.setStatus(Tour.TourStatus.CANCELLED);
+        suggestionIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, tour));
+
+        List<TourDTO.Suggestion> suggestions = suggestionIndex.suggest("lis", 10);
+
+        assertEquals(List.of("Lisboa"), texts(suggestions));
+        assertEquals(1, suggestions.get(0).getWeight());
+    }
+
+    private List<String> texts(List<TourDTO.Suggestion> suggestions) {
+        return suggestions.stream().map(TourDTO.Suggestion::getText).toList();
+    }
+}
@@ -0,0 +1,202 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourListVersion;
+import com.tourapp.repository.TourRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TourSearchIndexTest {
+
+    @Mock
+    private TourRepository tourRepository;
+
+    @InjectMocks
+    private TourSearchIndex tourSearchIndex;
+
+    private Tour paris;
+    private Tour rome;
+    private Tour lisbon;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tourSearchIndex, "enabled", true);
+
+        paris = tour("Amazing Paris Tour", "Paris, France", "999.99", 7, Tour.TourStatus.ACTIVE, 1);
+        rome = tour("Ancient Rome Walk", "Rome, Italy", "450.00", 3, Tour.TourStatus.ACTIVE, 2);
+        lisbon = tour("Lisbon Food Trail", "Lisboa, Portugal", "120.50", 1, Tour.TourStatus.INACTIVE, 3);
+
+        when(tourRepository.findAll()).thenReturn(List.of(paris, rome, lisbon));
+        tourSearchIndex.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tourSearchIndex.close();
+    }
+
+    @Test
+    void search_NotReadyWhenDisabled() {
+        ReflectionTestUtils.setField(tourSearchIndex, "enabled", false);
+
+        assertFalse(tourSearchIndex.isReady());
+        assertTrue(tourSearchIndex.search(null, null, null, null, null, null, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_FiltersBySubstringCaseInsensitive() {
+        Page<TourDTO.Summary> result = search("PARIS", null, null, null, null, null, null);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(paris.getId(), result.getContent().get(0).getId());
+    }
+
+    @Test
+    void search_ShortSubstringFallsBackToScan() {
+        Page<TourDTO.Summary> result = search(null, "is", null, null, null, null, null);
+
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void search_FiltersByPriceDurationAndStatus() {
+        Page<TourDTO.Summary> byPrice = search(null, null, new BigDecimal("120.50"), new BigDecimal("450"), null, null, null);
+        Page<TourDTO.Summary> byDays = search(null, null, null, null, 2, null, Tour.TourStatus.ACTIVE);
+
+        assertEquals(2, byPrice.getTotalElements());
+        assertEquals(2, byDays.getTotalElements());
+        assertTrue(byDays.getContent().stream().allMatch(s -> s.getStatus() == Tour.TourStatus.ACTIVE));
+    }
+
+    @Test
+    void search_SortsAndPaginates() {
+        PageRequest pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        Page<TourDTO.Summary> result = tourSearchIndex
+                .search(null, null, null, null, null, null, null, pageable)
+                .orElseThrow();
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        assertEquals(List.of(lisbon.getId()), result.getContent().stream().map(TourDTO.Summary::getId).toList());
+    }
+
+    @Test
+    void search_UnknownSortPropertyIsNotServed() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("description"));
+
+        assertTrue(tourSearchIndex.search(null, null, null, null, null, null, null, pageable).isEmpty());
+    }
+
+    @Test
+    void onTourChanged_KeepsIndexInSync() throws InterruptedException {
+        rome.setName("Ancient Rome Night Walk");
+        tourSearchIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, rome));
+        tourSearchIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.DELETED, paris));
+        awaitRebuild();
+
+        assertEquals(1, search("night", null, null, null, null, null, null).getTotalElements());
+        assertEquals(0, search("paris", null, null, null, null, null, null).getTotalElements());
+        assertEquals(2, search(null, null, null, null, null, null, null).getTotalElements());
+    }
+
+    @Test
+    void onTourChanged_SearchesUsePreviousSnapshotUntilRebuilt() throws InterruptedException {
+        ReflectionTestUtils.setField(tourSearchIndex, "rebuildDelay", Duration.ofMillis(200));
+
+        tourSearchIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.DELETED, paris));
+
+        assertFalse(tourSearchIndex.isUpToDate());
+        assertEquals(1, search("paris", null, null, null, null, null, null).getTotalElements());
+        awaitRebuild();
+        assertEquals(0, search("paris", null, null, null, null, null, null).getTotalElements());
+    }
+
+    @Test
+    void listVersion_CountsMatchesAndTracksLatestUpdate() throws InterruptedException {
+        TourListVersion active = tourSearchIndex.listVersion(null, null, null, null, null, null, Tour.TourStatus.ACTIVE)
+                .orElseThrow();
+        assertEquals(2, active.count());
+        assertEquals(paris.getUpdatedAt(), active.lastModified());
+        assertEquals(3, tourSearchIndex.listVersion(null, null, null, null, null, null, null).orElseThrow().count());
+
+        rome.setUpdatedAt(LocalDateTime.now());
+        tourSearchIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, rome));
+        awaitRebuild();
+
+        assertEquals(rome.getUpdatedAt(), tourSearchIndex
+                .listVersion(null, null, null, null, null, null, null).orElseThrow().lastModified());
+        assertEquals(new TourListVersion(1, rome.getUpdatedAt()), tourSearchIndex
+                .listVersion("rome", null, null, null, null, null, null).orElseThrow());
+    }
+
+    @Test
+    void load_DeleteCommittedWhileLoading_IsNotResurrected() {
+        TourSearchIndex reloaded = new TourSearchIndex(tourRepository);
+        ReflectionTestUtils.setField(reloaded, "enabled", true);
+        // The delete commits after findAll read the row, before it is indexed
+        when(tourRepository.findAll()).thenAnswer(invocation -> {
+            reloaded.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.DELETED, paris));
+            return List.of(paris, rome);
+        });
+
+        reloaded.load();
+        reloaded.close();
+
+        Page<TourDTO.Summary> result = reloaded
+                .search(null, null, null, null, null, null, null, PageRequest.of(0, 10))
+                .orElseThrow();
+        assertEquals(List.of(rome.getId()), result.getContent().stream().map(TourDTO.Summary::getId).toList());
+    }
+
+    private void awaitRebuild() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!tourSearchIndex.isUpToDate()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Search index was not rebuilt");
+            Thread.sleep(10);
+        }
+    }
+
+    private Page<TourDTO.Summary> search(String name, String destination, BigDecimal minPrice, BigDecimal maxPrice,
+                                         Integer minDays, Integer maxDays, Tour.TourStatus status) {
+        return tourSearchIndex
+                .search(name, destination, minPrice, maxPrice, minDays, maxDays, status, PageRequest.of(0, 10))
+                .orElseThrow();
+    }
+
+    private Tour tour(String name, String destination, String price, int days, Tour.TourStatus status, int ageInDays) {
+        Tour tour = new Tour();
+        tour.setId(UUID.randomUUID());
+        tour.setName(name);
+        tour.setDescription("Description for " + name);
+        tour.setDestination(destination);
+        tour.setPrice(new BigDecimal(price));
+        tour.setDurationDays(days);
+        tour.setMaxParticipants(20);
+        tour.setStatus(status);
+        tour.setCreatedAt(LocalDateTime.now().minusDays(ageInDays));
+        tour.setUpdatedAt(LocalDateTime.now().minusDays(ageInDays));
+        return tour;
+    }
+}
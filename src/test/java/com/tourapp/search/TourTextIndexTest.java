@@ -0,0 +1,123 @@
+package com.tourapp.search;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TourTextIndexTest {
+
+    @Mock
+    private TourRepository tourRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private TourTextIndex tourTextIndex;
+
+    private Tour saoPaulo;
+    private Tour lisbon;
+    private Tour porto;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(tourTextIndex, "enabled", true);
+        ReflectionTestUtils.setField(tourTextIndex, "directoryPath", "");
+
+        saoPaulo = tour("Roteiro Gastronômico", "São Paulo, Brasil", "Feiras, mercados e cafés da cidade", Tour.TourStatus.ACTIVE);
+        lisbon = tour("Lisboa Histórica", "Lisboa, Portugal", "Alfama, Belém e os miradouros de Lisboa", Tour.TourStatus.ACTIVE);
+        porto = tour("Vinhos do Douro", "Porto, Portugal", "Caves de Gaia com saída a partir de Lisboa", Tour.TourStatus.INACTIVE);
+
+        when(tourRepository.streamAll()).thenReturn(Stream.of(saoPaulo, lisbon, porto));
+        tourTextIndex.open();
+        tourTextIndex.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tourTextIndex.close();
+    }
+
+    @Test
+    void search_FoldsAccentsAndCase() {
+        assertEquals(List.of(saoPaulo.getId()), ids(search("SAO PAULO", null)));
+        assertEquals(List.of(saoPaulo.getId()), ids(search("gastronomico", null)));
+    }
+
+    @Test
+    void search_MatchesPrefixesAndDescription() {
+        assertEquals(List.of(saoPaulo.getId()), ids(search("merc", null)));
+        assertEquals(List.of(porto.getId()), ids(search("caves gaia", null)));
+    }
+
+    @Test
+    void search_RanksNameAboveDescription() {
+        Page<TourDTO.Summary> result = search("lisboa", null);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(lisbon.getId(), porto.getId()), ids(result));
+        assertEquals("Lisboa Histórica", result.getContent().get(0).getName());
+        assertEquals(new BigDecimal("100.00"), result.getContent().get(0).getPrice());
+    }
+
+    @Test
+    void search_FiltersByStatus() {
+        assertEquals(List.of(lisbon.getId()), ids(search("lisboa", Tour.TourStatus.ACTIVE)));
+    }
+
+    @Test
+    void onTourChanged_KeepsIndexInSync() {
+        lisbon.setName("Lisboa Noturna");
+        tourTextIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, lisbon));
+        tourTextIndex.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.DELETED, porto));
+
+        assertEquals(List.of(lisbon.getId()), ids(search("noturna", null)));
+        assertEquals(0, search("historica", null).getTotalElements());
+        assertEquals(0, search("douro", null).getTotalElements());
+    }
+
+    private Page<TourDTO.Summary> search(String text, Tour.TourStatus status) {
+        return tourTextIndex.search(text, status, PageRequest.of(0, 10)).orElseThrow();
+    }
+
+    private List<UUID> ids(Page<TourDTO.Summary> page) {
+        return page.getContent().stream().map(TourDTO.Summary::getId).toList();
+    }
+
+    private Tour tour(String name, String destination, String description, Tour.TourStatus status) {
+        Tour tour = new Tour();
+        tour.setId(UUID.randomUUID());
+        tour.setName(name);
+        tour.setDescription(description);
+        tour.setDestination(destination);
+        tour.setPrice(new BigDecimal("100.00"));
+        tour.setDurationDays(3);
+        tour.setMaxParticipants(20);
+        tour.setStatus(status);
+        tour.setCreatedAt(LocalDateTime.now());
+        tour.setUpdatedAt(LocalDateTime.now());
+        return tour;
+    }
+}
@@ -0,0 +1,236 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Booking;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.exception.ResourceNotFoundException;
+import com.tourapp.exception.SeatsUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    @Mock
+    private BookingLedger ledger;
+
+    private SimpleMeterRegistry registry;
+    private AtomicLong clock;
+    private BookingService bookingService;
+    private UUID tourId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        // Holds expire after 60s; the wheel is turned by hand through clock and tick()
+        bookingService = new BookingService(ledger, registry, Duration.ofSeconds(60), Duration.ofSeconds(1), clock::get);
+        tourId = UUID.randomUUID();
+    }
+
+    @Test
+    void reserve_ConcurrentRequestsNeverOverbook() throws Exception {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(50, 0, Tour.TourStatus.ACTIVE));
+        bookingService.getAvailability(tourId);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < 16; thread++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int accepted = 0;
+                    for (int attempt = 0; attempt < 20; attempt++) {
+                        try {
+                            bookingService.reserve(tourId, 1);
+                            accepted++;
+                        } catch (SeatsUnavailableException ex) {
+                            // sold out
+                        }
+                    }
+                    return accepted;
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<Integer> result : results) {
+                accepted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(50, accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TourDTO.Availability availability = bookingService.getAvailability(tourId);
+        assertEquals(50, availability.getReserved());
+        assertEquals(0, availability.getAvailable());
+        assertEquals(270, registry.get("tour.booking.requests").tag("outcome", "sold_out").counter().count());
+        verify(ledger, times(1)).load(tourId);
+    }
+
+    @Test
+    void reserve_TourNotOpen_ThrowsException() {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.CANCELLED));
+
+        assertThrows(SeatsUnavailableException.class, () -> bookingService.reserve(tourId, 1));
+        assertEquals(1, registry.get("tour.booking.requests").tag("outcome", "closed").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesBatchAndReloadsCounterWhenTheDatabaseRejects() {
+        // Another instance books 5 seats after this one loaded the counter
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.ACTIVE),
+                new BookingLedger.Seats(10, 9, Tour.TourStatus.ACTIVE));
+        bookingService.reserve(tourId, 4);
+        TourDTO.BookingResponse second = bookingService.reserve(tourId, 3);
+        bookingService.hold(tourId, 1);
+        assertEquals(Booking.BookingStatus.PENDING, second.getStatus());
+
+        // The database only fits the first booking
+        when(ledger.write(eq(tourId), anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(1);
+            Booking turnedDown = bookings.stream()
+                    .filter(booking -> booking.getId().equals(second.getId()))
+                    .findFirst().orElseThrow();
+            turnedDown.setStatus(Booking.BookingStatus.REJECTED);
+            return List.of(turnedDown);
+        });
+
+        bookingService.flush();
+
+        ArgumentCaptor<List<Booking>> written = ArgumentCaptor.forClass(List.class);
+        verify(ledger).write(eq(tourId), written.capture());
+        assertEquals(2, written.getValue().size());
+        verify(ledger).syncStatus(tourId);
+        // 9 written by both instances plus the seat still held here
+        assertEquals(10, bookingService.getAvailability(tourId).getReserved());
+        assertThrows(SeatsUnavailableException.class, () -> bookingService.reserve(tourId, 1));
+        assertEquals(1, registry.get("tour.booking.rejected").counter().count());
+        assertEquals(0, registry.get("tour.booking.unflushed").gauge().value());
+
+        // Nothing left to write
+        bookingService.flush();
+        verify(ledger, times(1)).write(any(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cancel_BeforeFlush_IsWrittenAsCancelledWithoutItsSeats() {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.ACTIVE));
+        TourDTO.BookingResponse booking = bookingService.reserve(tourId, 6);
+
+        bookingService.cancel(tourId, booking.getId());
+        assertEquals(0, bookingService.getAvailability(tourId).getReserved());
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingService.getBooking(tourId, booking.getId()).getStatus());
+
+        bookingService.flush();
+
+        ArgumentCaptor<List<Booking>> written = ArgumentCaptor.forClass(List.class);
+        verify(ledger).write(eq(tourId), written.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, written.getValue().get(0).getStatus());
+        verify(ledger, never()).cancel(any(), any());
+    }
+
+    @Test
+    void flush_TourDeletedMeanwhile_RejectsItsPendingBookings() {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.ACTIVE));
+        TourDTO.BookingResponse booking = bookingService.reserve(tourId, 2);
+        Tour deleted = new Tour();
+        deleted.setId(tourId);
+        bookingService.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.DELETED, deleted));
+
+        bookingService.flush();
+
+        verify(ledger, never()).write(any(), anyList());
+        assertEquals(1, registry.get("tour.booking.rejected").counter().count());
+        assertEquals(0, registry.get("tour.booking.unflushed").gauge().value());
+        when(ledger.find(tourId, booking.getId())).thenThrow(new ResourceNotFoundException("Tour not found"));
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.getBooking(tourId, booking.getId()));
+    }
+
+    @Test
+    void hold_ExpiresAndGivesSeatsBackInOneBatch() {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.ACTIVE));
+        TourDTO.HoldResponse first = bookingService.hold(tourId, 4);
+        TourDTO.HoldResponse second = bookingService.hold(tourId, 5);
+        assertEquals(TourDTO.HoldStatus.HELD, first.getStatus());
+        assertEquals(1, second.getSeatsAvailable());
+        assertThrows(SeatsUnavailableException.class, () -> bookingService.reserve(tourId, 2));
+
+        tick(59);
+        assertEquals(9, bookingService.getAvailability(tourId).getReserved());
+
+        tick(1);
+        assertEquals(0, bookingService.getAvailability(tourId).getReserved());
+        assertEquals(2, registry.get("tour.booking.holds").tag("outcome", "expired").counter().count());
+        assertEquals(1, registry.get("tour.booking.holds.expiry.batch").summary().count());
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.confirmHold(tourId, first.getId()));
+        verify(ledger, never()).write(any(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void confirmHold_KeepsSeatsAndIsNotExpiredLater() {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.ACTIVE));
+        TourDTO.HoldResponse hold = bookingService.hold(tourId, 10);
+
+        TourDTO.BookingResponse booking = bookingService.confirmHold(tourId, hold.getId());
+        assertEquals(Booking.BookingStatus.PENDING, booking.getStatus());
+        assertEquals(10, booking.getSeats());
+        assertEquals(0, booking.getSeatsAvailable());
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.getHold(tourId, hold.getId()));
+
+        tick(60);
+        assertEquals(10, bookingService.getAvailability(tourId).getReserved());
+        assertEquals(0, registry.get("tour.booking.holds").tag("outcome", "expired").counter().count());
+
+        when(ledger.write(eq(tourId), anyList())).thenReturn(List.of());
+        bookingService.flush();
+        ArgumentCaptor<List<Booking>> written = ArgumentCaptor.forClass(List.class);
+        verify(ledger).write(eq(tourId), written.capture());
+        assertEquals(booking.getId(), written.getValue().get(0).getId());
+    }
+
+    @Test
+    void releaseHold_GivesSeatsBackOnce() {
+        when(ledger.load(tourId)).thenReturn(new BookingLedger.Seats(10, 0, Tour.TourStatus.ACTIVE));
+        TourDTO.HoldResponse hold = bookingService.hold(tourId, 3);
+
+        bookingService.releaseHold(tourId, hold.getId());
+        assertEquals(0, bookingService.getAvailability(tourId).getReserved());
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.releaseHold(tourId, hold.getId()));
+
+        tick(60);
+        assertEquals(0, bookingService.getAvailability(tourId).getReserved());
+        assertEquals(1, registry.get("tour.booking.holds").tag("outcome", "released").counter().count());
+    }
+
+    private void tick(int seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+        bookingService.tickHoldExpiry();
+    }
+}
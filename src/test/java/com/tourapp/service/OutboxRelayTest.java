@@ -0,0 +1,125 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.OutboxMessage;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.InMemoryOutboxPublisher;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the relay for real against its own in-memory database, so relays of other
+ * cached test contexts cannot take its messages.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb",
+        "tour.outbox.publisher=memory",
+        "tour.outbox.batch-size=2",
+        "tour.outbox.linger-ms=50"
+})
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @Autowired
+    private TourService tourService;
+
+    @Autowired
+    private InMemoryOutboxPublisher publisher;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        publisher.clear();
+    }
+
+    @Test
+    void tourChanges_ArePublishedInOrderAndLeaveTheOutbox() {
+        UUID tourId = tourService.createTour(request("Outbox Lisbon Walk")).getId();
+        tourService.updateTour(tourId, request("Outbox Lisbon Night Walk"), null);
+        tourService.deleteTour(tourId);
+
+        await(() -> publishedFor(tourId).size() == 3 && outboxRepository.count() == 0);
+
+        List<OutboxMessage> messages = publishedFor(tourId);
+        assertEquals(List.of(TourChangedEvent.ChangeType.CREATED, TourChangedEvent.ChangeType.UPDATED,
+                TourChangedEvent.ChangeType.DELETED), messages.stream().map(OutboxMessage::getType).toList());
+        assertTrue(messages.get(1).getPayload().contains("\"name\":\"Outbox Lisbon Night Walk\""));
+        assertTrue(messages.get(1).getPayload().contains("\"version\":1"));
+        // Carried outside the payload too, for consumers that reorder by tour
+        assertEquals(List.of(0L, 1L, 1L), messages.stream().map(OutboxMessage::getVersion).toList());
+        assertTrue(messages.get(0).getId() < messages.get(1).getId());
+
+        assertTrue(meterRegistry.get("tour.outbox.published").counter().count() >= 3);
+        assertTrue(meterRegistry.get("tour.outbox.batch.size").summary().max() <= 2);
+        assertTrue(meterRegistry.get("tour.outbox.lag").timer().count() >= 3);
+    }
+
+    @Test
+    void rolledBackChange_IsNeverPublished() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tourService.createTour(request("Outbox Rolled Back"));
+            status.setRollbackOnly();
+        });
+        UUID committed = tourService.createTour(request("Outbox Committed")).getId();
+
+        await(() -> publishedFor(committed).size() == 1);
+
+        assertTrue(publisher.getPublished().stream()
+                .noneMatch(message -> message.getPayload().contains("Outbox Rolled Back")));
+        tourService.deleteTour(committed);
+    }
+
+    private List<OutboxMessage> publishedFor(UUID tourId) {
+        return publisher.getPublished().stream()
+                .filter(message -> message.getTourId().equals(tourId))
+                .toList();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Outbox was not relayed in time");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private static TourDTO.Request request(String name) {
+        TourDTO.Request request = new TourDTO.Request();
+        request.setName(name);
+        request.setDescription("A walk through the old town and its viewpoints");
+        request.setDestination("Lisbon, Portugal");
+        request.setPrice(new BigDecimal("45.00"));
+        request.setDurationDays(1);
+        request.setMaxParticipants(20);
+        request.setStatus(Tour.TourStatus.ACTIVE);
+        return request;
+    }
+}
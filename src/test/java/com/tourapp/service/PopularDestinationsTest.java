@@ -0,0 +1,91 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import com.tourapp.repository.TourRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PopularDestinationsTest {
+
+    @Mock
+    private TourRepository tourRepository;
+
+    @InjectMocks
+    private PopularDestinations popularDestinations;
+
+    private UUID parisId;
+    private UUID romeId;
+
+    @BeforeEach
+    void setUp() {
+        parisId = UUID.randomUUID();
+        romeId = UUID.randomUUID();
+
+        when(tourRepository.findActiveTourDestinations()).thenReturn(List.of(
+                new Object[]{parisId, "Paris"},
+                new Object[]{romeId, "Rome"},
+                new Object[]{UUID.randomUUID(), "Paris"}
+        ));
+        popularDestinations.initialize();
+    }
+
+    @Test
+    void top_OrdersByActiveTourCount() {
+        List<TourDTO.DestinationCount> top = popularDestinations.top(10);
+
+        assertTrue(popularDestinations.isReady());
+        assertEquals(2, top.size());
+        assertEquals(new TourDTO.DestinationCount("Paris", 2), top.get(0));
+        assertEquals(new TourDTO.DestinationCount("Rome", 1), top.get(1));
+        assertEquals(1, popularDestinations.top(1).size());
+    }
+
+    @Test
+    void onTourChanged_AppliesStatusAndDestinationChanges() {
+        popularDestinations.onTourChanged(event(TourChangedEvent.ChangeType.UPDATED, parisId, "Paris", Tour.TourStatus.CANCELLED));
+        popularDestinations.onTourChanged(event(TourChangedEvent.ChangeType.UPDATED, romeId, "Lisbon", Tour.TourStatus.ACTIVE));
+        popularDestinations.onTourChanged(event(TourChangedEvent.ChangeType.CREATED, UUID.randomUUID(), "Lisbon", Tour.TourStatus.ACTIVE));
+
+        assertEquals(List.of(
+                new TourDTO.DestinationCount("Lisbon", 2),
+                new TourDTO.DestinationCount("Paris", 1)
+        ), popularDestinations.top(10));
+    }
+
+    @Test
+    void onTourChanged_DeleteRemovesEmptyDestination() {
+        popularDestinations.onTourChanged(event(TourChangedEvent.ChangeType.DELETED, romeId, "Rome", Tour.TourStatus.ACTIVE));
+
+        assertEquals(List.of(new TourDTO.DestinationCount("Paris", 2)), popularDestinations.top(10));
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        when(tourRepository.findActiveTourDestinations()).thenReturn(List.<Object[]>of(new Object[]{romeId, "Rome"}));
+
+        popularDestinations.reconcile();
+
+        assertEquals(List.of(new TourDTO.DestinationCount("Rome", 1)), popularDestinations.top(10));
+    }
+
+    private TourChangedEvent event(TourChangedEvent.ChangeType type, UUID id, String destination, Tour.TourStatus status) {
+        Tour tour = new Tour();
+        tour.setId(id);
+        tour.setDestination(destination);
+        tour.setStatus(status);
+        return new TourChangedEvent(type, tour);
+    }
+}
@@ -0,0 +1,86 @@
+package com.tourapp.service;
+
+import com.tourapp.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry registry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(registry);
+        ReflectionTestUtils.setField(singleFlight, "enabled", true);
+    }
+
+    @Test
+    void execute_ConcurrentIdenticalCallsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("tourById", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "tour";
+            }, "id-1"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<String> follower = executor.submit(() ->
+                    singleFlight.execute("tourById", () -> "other load", "id-1"));
+            // Different arguments are a different call and load on their own
+            assertEquals("id-2", singleFlight.execute("tourById", () -> "id-2", "id-2"));
+
+            // Wait until the follower has joined before the leader finishes
+            while (registry.find("tour.singleflight.calls").tag("role", "joined").counter() == null) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("tour", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("tour", follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2, registry.get("tour.singleflight.calls").tag("role", "leader").counter().count());
+        assertEquals(1, registry.get("tour.singleflight.calls").tag("role", "joined").counter().count());
+        assertEquals(0, registry.get("tour.singleflight.in-flight").gauge().value());
+    }
+
+    @Test
+    void execute_FailureIsRethrownAndNotRemembered() {
+        assertThrows(ResourceNotFoundException.class, () -> singleFlight.execute("tourById", () -> {
+            throw new ResourceNotFoundException("Tour not found");
+        }, "id-1"));
+
+        // The failed call is gone, so the next one loads again
+        assertEquals("tour", singleFlight.execute("tourById", () -> "tour", "id-1"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
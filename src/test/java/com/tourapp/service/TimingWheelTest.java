@@ -0,0 +1,90 @@
+package com.tourapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private AtomicLong clock;
+    private List<List<Integer>> batches;
+    private TimingWheel<Integer> wheel;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        batches = new ArrayList<>();
+        // 4 slots on 3 levels: 64 ticks before the top level wraps
+        wheel = new TimingWheel<>("test-wheel", Duration.ofMillis(1), 4, 3, batches::add, clock::get);
+    }
+
+    @Test
+    void advance_ExpiresEachItemOnItsOwnTickAcrossLevels() {
+        int[] delays = {1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 200};
+        for (int delay : delays) {
+            wheel.schedule(delay, Duration.ofMillis(delay));
+        }
+        assertEquals(delays.length, wheel.size());
+
+        Map<Integer, Integer> expiredAt = new HashMap<>();
+        for (int tick = 1; tick <= 250; tick++) {
+            moveTo(tick);
+            int now = tick;
+            batches.forEach(batch -> batch.forEach(item -> expiredAt.put(item, now)));
+            batches.clear();
+        }
+
+        for (int delay : delays) {
+            assertEquals(delay, expiredAt.get(delay), "item due after " + delay + " ticks");
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CatchingUpHandsOverOneBatch() {
+        for (int item = 0; item < 1000; item++) {
+            wheel.schedule(item, Duration.ofMillis(1 + item % 50));
+        }
+        wheel.schedule(-1, Duration.ofMillis(500));
+
+        moveTo(50);
+
+        assertEquals(1, batches.size());
+        assertEquals(1000, batches.get(0).size());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void schedule_RoundsUpToTheNextTick() {
+        clock.set(TimeUnit.MICROSECONDS.toNanos(300));
+        wheel.schedule(1, Duration.ofMillis(2));
+
+        moveTo(2);
+        assertTrue(batches.isEmpty());
+
+        moveTo(3);
+        assertEquals(List.of(List.of(1)), batches);
+    }
+
+    @Test
+    void constructor_RejectsDegenerateWheel() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimingWheel<Integer>("bad", Duration.ZERO, 4, 3, batch -> { }, clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimingWheel<Integer>("bad", Duration.ofMillis(1), 1, 3, batch -> { }, clock::get));
+    }
+
+    private void moveTo(int tick) {
+        clock.set(TimeUnit.MILLISECONDS.toNanos(tick));
+        wheel.advance();
+    }
+}
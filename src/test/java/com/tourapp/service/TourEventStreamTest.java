@@ -0,0 +1,178 @@
+package com.tourapp.service;
+
+import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TourEventStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\w+)-(\\d+)");
+
+    private SimpleMeterRegistry registry;
+    private TourEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        stream = new TourEventStream(registry, 4, 3, Duration.ofMinutes(1)) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    @Test
+    void onTourChanged_PushesChangesInOrderAndFlagsStatusChanges() throws Exception {
+        RecordingEmitter emitter = (RecordingEmitter) stream.subscribe(null);
+        Tour tour = tour(Tour.TourStatus.FULL);
+
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.CREATED, tour));
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, tour, Tour.TourStatus.ACTIVE));
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, tour, Tour.TourStatus.FULL));
+
+        String created = emitter.next();
+        assertTrue(created.contains("event:tour-change"));
+        assertTrue(created.contains("type=CREATED"));
+        String statusChanged = emitter.next();
+        assertTrue(statusChanged.contains("type=STATUS_CHANGED"));
+        assertTrue(statusChanged.contains("previousStatus=ACTIVE"));
+        assertTrue(emitter.next().contains("type=UPDATED"));
+        assertEquals(sequenceOf(idOf(created)) + 1, sequenceOf(idOf(statusChanged)));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysWhatWasMissed() throws Exception {
+        RecordingEmitter first = (RecordingEmitter) stream.subscribe(null);
+        Tour tour = tour(Tour.TourStatus.ACTIVE);
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.CREATED, tour));
+        String seen = idOf(first.next());
+
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, tour));
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.DELETED, tour));
+
+        RecordingEmitter resumed = (RecordingEmitter) stream.subscribe(seen);
+        assertEquals(sequenceOf(seen) + 1, sequenceOf(idOf(resumed.next())));
+        assertEquals(sequenceOf(seen) + 2, sequenceOf(idOf(resumed.next())));
+        assertNull(resumed.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void subscribe_LastEventIdNoLongerInRing_SendsReset() throws Exception {
+        RecordingEmitter first = (RecordingEmitter) stream.subscribe(null);
+        Tour tour = tour(Tour.TourStatus.ACTIVE);
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.CREATED, tour));
+        String evicted = idOf(first.next());
+        for (int i = 0; i < 5; i++) {
+            stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, tour));
+        }
+
+        String reset = ((RecordingEmitter) stream.subscribe(evicted)).next();
+        assertTrue(reset.contains("event:reset"));
+        assertEquals(sequenceOf(evicted) + 5, sequenceOf(idOf(reset)));
+    }
+
+    @Test
+    void subscribe_LastEventIdFromAnotherStream_SendsReset() throws Exception {
+        RecordingEmitter first = (RecordingEmitter) stream.subscribe(null);
+        stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.CREATED, tour(Tour.TourStatus.ACTIVE)));
+        String seen = idOf(first.next());
+
+        // Same sequence from another instance or an earlier run, and an id from before the stream prefix
+        String otherStream = (seen.charAt(0) == 'x' ? "y" : "x") + seen.substring(1);
+        assertTrue(((RecordingEmitter) stream.subscribe(otherStream)).next().contains("event:reset"));
+        assertTrue(((RecordingEmitter) stream.subscribe("42")).next().contains("event:reset"));
+    }
+
+    @Test
+    void onTourChanged_SlowSubscriberIsDisconnectedOthersKeepUp() throws Exception {
+        RecordingEmitter slow = (RecordingEmitter) stream.subscribe(null);
+        slow.gate = new CountDownLatch(1);
+        RecordingEmitter fast = (RecordingEmitter) stream.subscribe(null);
+        Tour tour = tour(Tour.TourStatus.ACTIVE);
+
+        for (int i = 0; i < 5; i++) {
+            stream.onTourChanged(new TourChangedEvent(TourChangedEvent.ChangeType.UPDATED, tour));
+            assertNotNull(fast.next());
+        }
+
+        assertEquals(1, registry.get("tour.events.disconnected").counter().count());
+        assertEquals(1, registry.get("tour.events.subscribers").gauge().value());
+        slow.gate.countDown();
+    }
+
+    private static Tour tour(Tour.TourStatus status) {
+        Tour tour = new Tour();
+        tour.setId(UUID.randomUUID());
+        tour.setName("Lisbon Walk");
+        tour.setDestination("Lisbon");
+        tour.setPrice(new BigDecimal("40.00"));
+        tour.setDurationDays(1);
+        tour.setMaxParticipants(20);
+        tour.setStatus(status);
+        tour.setVersion(0L);
+        return tour;
+    }
+
+    private static String idOf(String event) {
+        Matcher matcher = EVENT_ID.matcher(event);
+        assertTrue(matcher.find(), () -> "No id in " + event);
+        return matcher.group(1) + "-" + matcher.group(2);
+    }
+
+    private static long sequenceOf(String id) {
+        return Long.parseLong(id.substring(id.indexOf('-') + 1));
+    }
+
+    // Records the text of each event instead of writing to a response
+    static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        volatile CountDownLatch gate;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch blockedBy = gate;
+            if (blockedBy != null) {
+                try {
+                    blockedBy.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                }
+            }
+            List<String> parts = new ArrayList<>();
+            builder.build().forEach(part -> parts.add(String.valueOf(part.getData())));
+            sent.add(String.join("", parts));
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No event sent");
+            return event;
+        }
+    }
+}
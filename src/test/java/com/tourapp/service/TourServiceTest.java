@@ -2,9 +2,14 @@ package com.tourapp.service;
 
 import com.tourapp.dto.TourDTO;
 import com.tourapp.entity.Tour;
+import com.tourapp.event.TourChangedEvent;
 import com.tourapp.exception.DuplicateResourceException;
+import com.tourapp.exception.PreconditionFailedException;
 import com.tourapp.exception.ResourceNotFoundException;
+import com.tourapp.repository.TourListVersion;
 import com.tourapp.repository.TourRepository;
+import com.tourapp.repository.TourTombstoneRepository;
+import com.tourapp.search.TourSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +37,15 @@ class TourServiceTest {
     @Mock
     private TourRepository tourRepository;
 
+    @Mock
+    private TourSearchIndex tourSearchIndex;
+
+    @Mock
+    private TourTombstoneRepository tourTombstoneRepository;
+
+    @Mock
+    private OutboxStore outboxStore;
+
     @InjectMocks
     private TourService tourService;
 
@@ -83,6 +97,7 @@ class TourServiceTest {
         assertEquals(tour.getPrice(), result.getPrice());
         verify(tourRepository).existsByNameIgnoreCase(tourRequest.getName());
         verify(tourRepository).save(any(Tour.class));
+        verify(outboxStore).append(TourChangedEvent.ChangeType.CREATED, tour);
     }
 
     @Test
@@ -127,8 +142,8 @@ class TourServiceTest {
     void getAllTours_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Tour> tourPage = new PageImpl<>(Arrays.asList(tour));
-        when(tourRepository.findAll(pageable)).thenReturn(tourPage);
+        Page<TourDTO.Summary> summaryPage = new PageImpl<>(Arrays.asList(TourService.mapToSummary(tour)));
+        when(tourRepository.findSummaries(pageable)).thenReturn(summaryPage);
 
         // When
         Page<TourDTO.Summary> result = tourService.getAllTours(pageable);
@@ -137,7 +152,7 @@ class TourServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(tour.getName(), result.getContent().get(0).getName());
-        verify(tourRepository).findAll(pageable);
+        verify(tourRepository).findSummaries(pageable);
     }
 
     @Test
@@ -148,7 +163,7 @@ class TourServiceTest {
         when(tourRepository.save(any(Tour.class))).thenReturn(tour);
 
         // When
-        TourDTO.Response result = tourService.updateTour(tourId, tourRequest);
+        TourDTO.Response result = tourService.updateTour(tourId, tourRequest, null);
 
         // Then
         assertNotNull(result);
@@ -164,42 +179,56 @@ class TourServiceTest {
 
         // When & Then
         assertThrows(ResourceNotFoundException.class,
-                () -> tourService.updateTour(tourId, tourRequest));
+                () -> tourService.updateTour(tourId, tourRequest, null));
         verify(tourRepository).findById(tourId);
         verify(tourRepository, never()).save(any(Tour.class));
     }
 
+    @Test
+    void updateTour_StaleVersion_ThrowsException() {
+        // Given
+        tour.setVersion(3L);
+        when(tourRepository.findById(tourId)).thenReturn(Optional.of(tour));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class,
+                () -> tourService.updateTour(tourId, tourRequest, 2L));
+        verify(tourRepository, never()).save(any(Tour.class));
+    }
+
     @Test
     void deleteTour_Success() {
         // Given
-        when(tourRepository.existsById(tourId)).thenReturn(true);
+        when(tourRepository.findById(tourId)).thenReturn(Optional.of(tour));
 
         // When
         tourService.deleteTour(tourId);
 
         // Then
-        verify(tourRepository).existsById(tourId);
-        verify(tourRepository).deleteById(tourId);
+        verify(tourRepository).findById(tourId);
+        verify(tourRepository).delete(tour);
+        verify(tourTombstoneRepository).save(argThat(tombstone -> tombstone.getTourId().equals(tourId)));
+        verify(outboxStore).append(TourChangedEvent.ChangeType.DELETED, tour);
     }
 
     @Test
     void deleteTour_NotFound_ThrowsException() {
         // Given
-        when(tourRepository.existsById(tourId)).thenReturn(false);
+        when(tourRepository.findById(tourId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class,
                 () -> tourService.deleteTour(tourId));
-        verify(tourRepository).existsById(tourId);
-        verify(tourRepository, never()).deleteById(any());
+        verify(tourRepository).findById(tourId);
+        verify(tourRepository, never()).delete(any(Tour.class));
     }
 
     @Test
     void getToursByStatus_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Tour> tourPage = new PageImpl<>(Arrays.asList(tour));
-        when(tourRepository.findByStatus(Tour.TourStatus.ACTIVE, pageable)).thenReturn(tourPage);
+        Page<TourDTO.Summary> summaryPage = new PageImpl<>(Arrays.asList(TourService.mapToSummary(tour)));
+        when(tourRepository.findSummariesByStatus(Tour.TourStatus.ACTIVE, pageable)).thenReturn(summaryPage);
 
         // When
         Page<TourDTO.Summary> result = tourService.getToursByStatus(Tour.TourStatus.ACTIVE, pageable);
@@ -207,6 +236,20 @@ class TourServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(tourRepository).findByStatus(Tour.TourStatus.ACTIVE, pageable);
+        verify(tourRepository).findSummariesByStatus(Tour.TourStatus.ACTIVE, pageable);
+    }
+
+    @Test
+    void getListVersion_IndexReady_DoesNotQueryDatabase() {
+        // Given
+        TourListVersion version = new TourListVersion(1, tour.getUpdatedAt());
+        when(tourSearchIndex.listVersion("paris", null, null, null, null, null, null)).thenReturn(Optional.of(version));
+
+        // When
+        Optional<TourListVersion> result = tourService.getListVersion("paris", null, null, null, null, null, null);
+
+        // Then
+        assertEquals(Optional.of(version), result);
+        verifyNoInteractions(tourRepository);
     }
 }
\ No newline at end of file
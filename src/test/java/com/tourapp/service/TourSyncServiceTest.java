@@ -0,0 +1,130 @@
+package com.tourapp.service;
+
+import com.tourapp.dto.TourDTO;
+import com.tourapp.entity.Tour;
+import com.tourapp.entity.TourTombstone;
+import com.tourapp.exception.BadRequestException;
+import com.tourapp.exception.SyncExpiredException;
+import com.tourapp.repository.TourRepository;
+import com.tourapp.repository.TourTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TourSyncServiceTest {
+
+    @Mock
+    private TourRepository tourRepository;
+
+    @Mock
+    private TourTombstoneRepository tourTombstoneRepository;
+
+    @InjectMocks
+    private TourSyncService tourSyncService;
+
+    private LocalDateTime hourAgo;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tourSyncService, "settleTime", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(tourSyncService, "tombstoneRetention", Duration.ofDays(30));
+        hourAgo = LocalDateTime.now().minusHours(1);
+    }
+
+    @Test
+    void getChanges_MergesUpdatesAndDeletionsInOrder() {
+        String since = TourSyncService.encode(new TourSyncService.Position(hourAgo, new UUID(0, 0)));
+        Tour first = tour(hourAgo.plusMinutes(1));
+        Tour third = tour(hourAgo.plusMinutes(3));
+        UUID deleted = UUID.randomUUID();
+        when(tourRepository.findChangedBetween(eq(hourAgo), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(first, third));
+        when(tourTombstoneRepository.findDeletedBetween(eq(hourAgo), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(new TourTombstone(deleted, hourAgo.plusMinutes(2))));
+
+        TourDTO.DeltaPage page = tourSyncService.getChanges(since, 2);
+
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(first.getId(), deleted),
+                page.getChanges().stream().map(TourDTO.Delta::getTourId).toList());
+        assertTrue(page.getChanges().get(1).isDeleted());
+        assertNull(page.getChanges().get(1).getTour());
+        TourSyncService.Position next = TourSyncService.decode(page.getWatermark());
+        assertEquals(new TourSyncService.Position(hourAgo.plusMinutes(2), deleted), next);
+    }
+
+    @Test
+    void getChanges_LastPageWatermarkTrailsBySettleTime() {
+        Tour settled = tour(hourAgo);
+        Tour recent = tour(LocalDateTime.now());
+        when(tourRepository.findChangedBetween(any(), any(), any(), eq(Limit.of(11)))).thenReturn(List.of(settled));
+        when(tourRepository.findChangedAfter(any(), any(), eq(Limit.of(9)))).thenReturn(List.of(recent));
+
+        TourDTO.DeltaPage page = tourSyncService.getChanges(null, 10);
+
+        assertFalse(page.isHasMore());
+        assertEquals(List.of(settled.getId(), recent.getId()),
+                page.getChanges().stream().map(TourDTO.Delta::getTourId).toList());
+        // Not past the recent change: the next sync sends it again instead of risking a gap
+        assertTrue(TourSyncService.decode(page.getWatermark()).at().isBefore(recent.getUpdatedAt()));
+        verifyNoInteractions(tourTombstoneRepository);
+    }
+
+    @Test
+    void getChanges_FullPageOnlyReadsSettledChanges() {
+        String since = TourSyncService.encode(new TourSyncService.Position(hourAgo, new UUID(0, 0)));
+        List<Tour> settled = List.of(tour(hourAgo.plusMinutes(1)), tour(hourAgo.plusMinutes(2)));
+        when(tourRepository.findChangedBetween(eq(hourAgo), any(), any(), eq(Limit.of(2)))).thenReturn(settled);
+
+        TourDTO.DeltaPage page = tourSyncService.getChanges(since, 1);
+
+        assertTrue(page.isHasMore());
+        // Bounded by the settle time, even though this page is not the last
+        verify(tourRepository).findChangedBetween(eq(hourAgo), any(),
+                argThat(until -> until.isBefore(LocalDateTime.now().minusSeconds(9))), any());
+        verify(tourRepository, never()).findChangedAfter(any(), any(), any());
+        verify(tourTombstoneRepository, never()).findDeletedAfter(any(), any(), any());
+        assertEquals(hourAgo.plusMinutes(1), TourSyncService.decode(page.getWatermark()).at());
+    }
+
+    @Test
+    void getChanges_WatermarkOlderThanTombstones_ThrowsGone() {
+        String since = TourSyncService.encode(
+                new TourSyncService.Position(LocalDateTime.now().minusDays(31), UUID.randomUUID()));
+
+        assertThrows(SyncExpiredException.class, () -> tourSyncService.getChanges(since, 10));
+        verifyNoInteractions(tourRepository);
+    }
+
+    @Test
+    void getChanges_InvalidInput_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> tourSyncService.getChanges("not-a-watermark", 10));
+        assertThrows(BadRequestException.class, () -> tourSyncService.getChanges(null, 0));
+        assertThrows(BadRequestException.class, () -> tourSyncService.getChanges(null, TourSyncService.MAX_LIMIT + 1));
+    }
+
+    private static Tour tour(LocalDateTime updatedAt) {
+        Tour tour = new Tour();
+        tour.setId(UUID.randomUUID());
+        tour.setName("Lisbon Walk");
+        tour.setStatus(Tour.TourStatus.ACTIVE);
+        tour.setUpdatedAt(updatedAt);
+        tour.setVersion(0L);
+        return tour;
+    }
+}